@@ -0,0 +1,85 @@
+#!/bin/sh
+# Lanzador rápido del Juego de la Vida para ejecuciones cortas en lote.
+#
+# Compila las fuentes y las empaqueta en un JAR (AppCDS solo admite JAR en el classpath),
+# realiza una ejecución de entrenamiento que guarda las clases cargadas en un archivo AppCDS
+# (gameoflife.jsa) y lanza el juego en modo rápido (q=1) usando ese archivo,
+# con el compilador C1 y el recolector Serial para reducir el arranque.
+#
+# Cada compilación vive en out/fast/<suma de las fuentes>/ y no se modifica una vez creada:
+# se construye en un directorio temporal bajo un cerrojo y se renombra de forma atómica, así
+# que muchas ejecuciones simultáneas pueden lanzarse mientras otra regenera el archivo.
+#
+# Uso: scripts/fast-launch.sh w=20 h=20 g=100 s=0 p=rnd [n=3] [r=conway] ...
+set -e
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+OUT="$ROOT/out/fast"
+LOCK="$OUT/.lock"
+LOCK_WAIT=600 # Décimas de segundo que se espera el cerrojo antes de rendirse
+if [ -n "$JAVA_HOME" ]; then
+    JAVA="$JAVA_HOME/bin/java"
+    JAVAC="$JAVA_HOME/bin/javac"
+    JARTOOL="$JAVA_HOME/bin/jar"
+else
+    JAVA=java
+    JAVAC=javac
+    JARTOOL=jar
+fi
+JVM_OPTS="-XX:TieredStopAtLevel=1 -XX:+UseSerialGC -Xshare:auto"
+
+# La compilación se identifica por la suma de las fuentes
+STAMP=$(cat "$ROOT"/src/com/gameoflife/*.java | cksum | cut -d ' ' -f 1)
+BUILD="$OUT/$STAMP"
+JAR="$BUILD/gameoflife.jar"
+ARCHIVE="$BUILD/gameoflife.jsa"
+
+if [ ! -f "$ARCHIVE" ]; then
+    mkdir -p "$OUT"
+    waited=0
+    until mkdir "$LOCK" 2>/dev/null; do
+        waited=$((waited + 1))
+        if [ "$waited" -ge "$LOCK_WAIT" ]; then
+            echo "No se pudo obtener $LOCK; si no hay otra compilación en curso, elimínelo." >&2
+            exit 1
+        fi
+        sleep 0.1
+    done
+    trap 'rm -rf "$TMP"; rmdir "$LOCK"' EXIT
+    trap 'exit 1' INT TERM
+
+    # Otro lanzador pudo completar la compilación mientras se esperaba el cerrojo
+    if [ ! -f "$ARCHIVE" ]; then
+        TMP=$(mktemp -d "$OUT/tmp.XXXXXX")
+        chmod 755 "$TMP"
+        mkdir "$TMP/classes"
+        "$JAVAC" -encoding UTF-8 -XDstringConcat=inline -d "$TMP/classes" "$ROOT"/src/com/gameoflife/*.java
+        "$JARTOOL" --create --file "$TMP/gameoflife.jar" --main-class com.gameoflife.GameOfLife -C "$TMP/classes" .
+        rm -rf "$TMP/classes"
+        # Ejecución de entrenamiento: recorre el mismo camino que una ejecución real.
+        # El archivo AppCDS guarda la ruta del JAR, así que se entrena ya en su ubicación final.
+        # Una compilación interrumpida antes de publicar el archivo puede haber dejado el
+        # directorio a medias; se descarta para que mv no mueva el temporal dentro de él.
+        rm -rf "$BUILD"
+        mv "$TMP" "$BUILD"
+        TMP=
+        if ! "$JAVA" $JVM_OPTS -XX:ArchiveClassesAtExit="$BUILD/train.jsa" -cp "$JAR" \
+                com.gameoflife.GameOfLife q=1 w=10 h=10 g=5 s=0 p=rnd > /dev/null; then
+            rm -rf "$BUILD"
+            exit 1
+        fi
+        mv "$BUILD/train.jsa" "$ARCHIVE"
+
+        # Las compilaciones anteriores ya no se usan; los procesos en marcha conservan sus archivos abiertos
+        for old in "$OUT"/*; do
+            if [ "$old" != "$BUILD" ] && [ -d "$old" ]; then
+                rm -rf "$old"
+            fi
+        done
+    fi
+
+    rmdir "$LOCK"
+    trap - EXIT INT TERM
+fi
+
+exec "$JAVA" $JVM_OPTS -XX:SharedArchiveFile="$ARCHIVE" -cp "$JAR" com.gameoflife.GameOfLife q=1 "$@"
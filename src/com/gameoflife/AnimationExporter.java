@@ -0,0 +1,373 @@
+package com.gameoflife;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Exportador de la simulación a animaciones (GIF, APNG o secuencia numerada de PNG).
+ * Mantiene un buffer de fotograma con el índice de color de cada célula y, en cada generación,
+ * codifica solo el rectángulo que cambió respecto al fotograma anterior. Los fotogramas se
+ * escriben de inmediato en el archivo, así que la memoria usada no depende de cuántas
+ * generaciones se exporten.
+ *
+ * La comparación, el escalado y la codificación se hacen en un hilo propio: el fotograma en
+ * construcción tiene doble buffer, de modo que mientras se codifica una generación la
+ * simulación ya puede calcular y copiar la siguiente.
+ */
+public abstract class AnimationExporter implements AutoCloseable {
+    /** Colores RGB de la paleta, indexados por estado de la célula (0 = muerta, 1 = viva, 2+ otros). */
+    static final int[] PALETTE = {
+            0x1E1E1E, 0x2ECC40, 0xFFDC00, 0x0074D9, 0xB10DC9, 0x39CCCC, 0xFF851B, 0xF012BE,
+            0x01FF70, 0x7FDBFF, 0x85144B, 0x3D9970, 0xFF4136, 0x001F3F, 0xAAAAAA, 0xFFFFFF
+    };
+
+    // Tamaño máximo en píxeles del lado mayor al escalar tableros pequeños
+    private static final int TARGET_SIZE = 400;
+
+    /** Lado máximo en píxeles de una imagen GIF (las dimensiones se guardan en 16 bits). */
+    static final int GIF_MAX_SIDE = 0xFFFF;
+
+    // Marca de fin enviada al hilo codificador al cerrar
+    private static final byte[] END = new byte[0];
+
+    // Dimensiones del tablero (en células) y de la imagen (en píxeles)
+    protected final int width;
+    protected final int height;
+    protected final int scale;
+    protected final int imageWidth;
+    protected final int imageHeight;
+    protected final int delayMs;
+    protected final int colors; // Entradas de la paleta usadas (número de estados de la regla)
+
+    // Estado de cada célula en el fotograma en construcción y en el último fotograma escrito.
+    // Los fotogramas terminados pasan al codificador por "ready" y vuelven vacíos por "free".
+    private byte[] cells;
+    private final byte[] shown;
+    private final BlockingQueue<byte[]> ready = new ArrayBlockingQueue<>(1);
+    private final BlockingQueue<byte[]> free = new ArrayBlockingQueue<>(1);
+    private Thread encoder; // Se inicia con el primer fotograma
+    private volatile IOException failure;
+    private boolean failureReported;
+
+    /** Buffer de píxeles indexados reutilizado por todos los fotogramas. */
+    protected final byte[] pixels;
+
+    private int frames;
+
+    /**
+     * Constructor común de los exportadores.
+     *
+     * @param width Ancho del tablero en células
+     * @param height Alto del tablero en células
+     * @param delayMs Duración de cada fotograma en milisegundos
+     * @param colors Número de estados de la regla (entradas de la paleta)
+     */
+    protected AnimationExporter(int width, int height, int delayMs, int colors) {
+        this.width = width;
+        this.height = height;
+        this.scale = scaleFor(width, height);
+        this.imageWidth = width * scale;
+        this.imageHeight = height * scale;
+        this.delayMs = Math.max(20, Math.min(delayMs, 65535)); // Límites de GIF y APNG
+        this.colors = colors;
+        this.cells = new byte[width * height];
+        this.shown = new byte[width * height];
+        this.pixels = new byte[imageWidth * imageHeight];
+        this.free.add(new byte[width * height]);
+    }
+
+    /**
+     * Crea el exportador adecuado según la extensión del archivo:
+     * ".gif" genera un GIF animado, ".apng" un PNG animado y ".png" una secuencia
+     * numerada de imágenes ("nombre-00000.png", "nombre-00001.png", ...).
+     *
+     * @param path Ruta del archivo de salida
+     * @param width Ancho del tablero en células
+     * @param height Alto del tablero en células
+     * @param delayMs Duración de cada fotograma en milisegundos
+     * @param colors Número de estados de la regla (entradas de la paleta)
+     * @return El exportador listo para recibir fotogramas
+     * @throws IOException Si no se puede crear el archivo
+     */
+    public static AnimationExporter open(String path, int width, int height, int delayMs, int colors)
+            throws IOException {
+        String lower = path.toLowerCase();
+        if (lower.endsWith(".gif")) {
+            return new GifExporter(Path.of(path), width, height, delayMs, colors);
+        } else if (lower.endsWith(".apng")) {
+            return new PngExporter(Path.of(path), width, height, delayMs, colors, true);
+        } else if (lower.endsWith(".png")) {
+            return new PngExporter(Path.of(path), width, height, delayMs, colors, false);
+        }
+        throw new IOException("Formato de exportación no soportado: " + path + " (use .gif, .apng o .png)");
+    }
+
+    /**
+     * Indica si la extensión del archivo corresponde a un formato soportado.
+     *
+     * @param path Ruta del archivo de salida
+     * @return true si es ".gif", ".apng" o ".png"
+     */
+    public static boolean isSupported(String path) {
+        String lower = path.toLowerCase();
+        return lower.endsWith(".gif") || lower.endsWith(".apng") || lower.endsWith(".png");
+    }
+
+    /**
+     * Indica si un tablero de las dimensiones dadas, ya escalado, cabe en el formato del archivo.
+     * Solo GIF tiene un límite práctico: 65535 píxeles por lado.
+     *
+     * @param path Ruta del archivo de salida
+     * @param width Ancho del tablero en células
+     * @param height Alto del tablero en células
+     * @return true si la imagen resultante se puede representar en el formato
+     */
+    public static boolean fitsFormat(String path, int width, int height) {
+        if (!path.toLowerCase().endsWith(".gif")) {
+            return true;
+        }
+        long scale = scaleFor(width, height);
+        return width * scale <= GIF_MAX_SIDE && height * scale <= GIF_MAX_SIDE;
+    }
+
+    /**
+     * Calcula cuántos píxeles por lado ocupa cada célula para que los tableros pequeños
+     * se vean de un tamaño razonable.
+     *
+     * @param width Ancho del tablero en células
+     * @param height Alto del tablero en células
+     * @return Factor de escala (1 o más)
+     */
+    private static int scaleFor(int width, int height) {
+        return Math.max(1, TARGET_SIZE / Math.max(width, height));
+    }
+
+    /**
+     * Establece el estado de una célula en el fotograma en construcción.
+     * Cada fotograma debe escribirse completo, ya que el buffer se recicla entre generaciones.
+     *
+     * @param row Fila de la célula
+     * @param col Columna de la célula
+     * @param state Estado de la célula (índice en la paleta)
+     */
+    public void setCell(int row, int col, int state) {
+        cells[row * width + col] = (byte) state;
+    }
+
+    /**
+     * Copia una fila completa de estados al fotograma en construcción.
+     *
+     * @param row Fila del tablero
+     * @param states Arreglo con un estado por célula
+     * @param offset Posición del primer estado de la fila dentro del arreglo
+     */
+    public void setRow(int row, byte[] states, int offset) {
+        System.arraycopy(states, offset, cells, row * width, width);
+    }
+
+    /**
+     * Entrega el fotograma en construcción al hilo codificador y continúa con un buffer libre.
+     * Solo espera si el codificador todavía no terminó el fotograma anterior.
+     *
+     * @throws IOException Si falló la escritura de un fotograma anterior o se interrumpe la espera
+     */
+    public void writeFrame() throws IOException {
+        checkFailure();
+        if (encoder == null) {
+            encoder = new Thread(this::encodeLoop, "exportador-animacion");
+            encoder.setDaemon(true);
+            encoder.start();
+        }
+        try {
+            ready.put(cells);
+            cells = free.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Exportación interrumpida");
+        }
+    }
+
+    /**
+     * Propaga, una sola vez, el error que haya encontrado el hilo codificador.
+     *
+     * @throws IOException El error de escritura pendiente
+     */
+    private void checkFailure() throws IOException {
+        if (failure != null && !failureReported) {
+            failureReported = true;
+            throw failure;
+        }
+    }
+
+    /**
+     * Ciclo del hilo codificador: toma cada fotograma terminado, lo codifica y devuelve el buffer.
+     * Si una escritura falla, se guarda el error y los fotogramas siguientes solo se reciclan.
+     */
+    private void encodeLoop() {
+        try {
+            byte[] frame;
+            while ((frame = ready.take()) != END) {
+                if (failure == null) {
+                    try {
+                        encode(frame);
+                    } catch (IOException e) {
+                        failure = e;
+                    } catch (RuntimeException e) {
+                        failure = new IOException("Error al codificar el fotograma " + frames, e);
+                    }
+                }
+                free.put(frame);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Codifica un fotograma. Solo se codifica el rectángulo que contiene las células que
+     * cambiaron desde el fotograma anterior.
+     *
+     * @param frame Estado de cada célula del fotograma
+     * @throws IOException Si falla la escritura
+     */
+    private void encode(byte[] frame) throws IOException {
+        int top = 0, bottom = height - 1, left = 0, right = width - 1;
+
+        if (frames > 0 && !writesFullFrames()) {
+            top = height;
+            bottom = -1;
+            left = width;
+            right = -1;
+            for (int i = 0; i < height; i++) {
+                int base = i * width;
+                int first = -1, last = -1;
+                for (int j = 0; j < width; j++) {
+                    if (frame[base + j] != shown[base + j]) {
+                        if (first < 0) first = j;
+                        last = j;
+                    }
+                }
+                if (first >= 0) {
+                    top = Math.min(top, i);
+                    bottom = i;
+                    left = Math.min(left, first);
+                    right = Math.max(right, last);
+                }
+            }
+            // Sin cambios: se repite una sola célula para conservar la duración del fotograma
+            if (bottom < 0) {
+                top = bottom = left = right = 0;
+            }
+        }
+
+        for (int i = top; i <= bottom; i++) {
+            System.arraycopy(frame, i * width + left, shown, i * width + left, right - left + 1);
+        }
+        int length = renderRect(top, bottom, left, right);
+        encodeFrame(left * scale, top * scale, (right - left + 1) * scale, (bottom - top + 1) * scale, length);
+        frames++;
+    }
+
+    /**
+     * Escala el rectángulo de células indicado al buffer de píxeles, fila por fila.
+     *
+     * @return Número de píxeles escritos en el buffer
+     */
+    private int renderRect(int top, int bottom, int left, int right) {
+        int p = 0;
+        for (int i = top; i <= bottom; i++) {
+            int rowStart = p;
+            for (int j = left; j <= right; j++) {
+                byte state = shown[i * width + j];
+                for (int s = 0; s < scale; s++) {
+                    pixels[p++] = state;
+                }
+            }
+            int rowLength = p - rowStart;
+            for (int s = 1; s < scale; s++) {
+                System.arraycopy(pixels, rowStart, pixels, p, rowLength);
+                p += rowLength;
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Codifica los fotogramas pendientes, detiene el hilo codificador y cierra el archivo.
+     * Si no se llegó a escribir ningún fotograma (por ejemplo, porque la simulación falló
+     * antes de empezar) el archivo se descarta en lugar de completarlo, ya que quedaría inválido.
+     *
+     * @throws IOException Si falla la escritura de algún fotograma o el cierre del archivo,
+     *                     o si no se escribió ningún fotograma
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (encoder != null) {
+                ready.put(END);
+                encoder.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Exportación interrumpida");
+        } finally {
+            if (frames > 0) {
+                closeOutput();
+            } else {
+                discardOutput();
+            }
+        }
+        checkFailure();
+        if (frames == 0) {
+            throw new IOException("No se exportó ningún fotograma; se descartó el archivo");
+        }
+    }
+
+    /**
+     * Número de fotogramas escritos hasta el momento.
+     *
+     * @return Cantidad de fotogramas
+     */
+    public int getFrameCount() {
+        return frames;
+    }
+
+    /**
+     * Indica si el formato necesita fotogramas completos en lugar de rectángulos parciales.
+     *
+     * @return true si cada fotograma debe cubrir toda la imagen
+     */
+    protected boolean writesFullFrames() {
+        return false;
+    }
+
+    /**
+     * Codifica un fotograma cuyos píxeles están en las primeras posiciones de {@link #pixels}.
+     *
+     * @param x Columna en píxeles de la esquina superior izquierda
+     * @param y Fila en píxeles de la esquina superior izquierda
+     * @param w Ancho del rectángulo en píxeles
+     * @param h Alto del rectángulo en píxeles
+     * @param length Número de píxeles (w * h)
+     * @throws IOException Si falla la escritura
+     */
+    protected abstract void encodeFrame(int x, int y, int w, int h, int length) throws IOException;
+
+    /**
+     * Completa y cierra el archivo de salida. Se llama cuando ya se codificaron todos los fotogramas.
+     *
+     * @throws IOException Si falla la escritura
+     */
+    protected abstract void closeOutput() throws IOException;
+
+    /**
+     * Cierra el archivo de salida sin completarlo y lo elimina. Se llama en lugar de
+     * {@link #closeOutput()} cuando no se escribió ningún fotograma.
+     *
+     * @throws IOException Si no se puede cerrar o eliminar el archivo
+     */
+    protected abstract void discardOutput() throws IOException;
+}
@@ -0,0 +1,188 @@
+package com.gameoflife;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Regla de evolución de las células expresada como tabla de transiciones.
+ * El siguiente estado de una célula se obtiene con {@code next(estado, vecinos)}, donde
+ * "vecinos" es el número de vecinos en estado 1 (vivos o con cabeza de electrón).
+ * Así, Conway, la familia "Generations" (Brian's Brain, Star Wars, ...) y Wireworld
+ * comparten el mismo ciclo de simulación sin condicionales por regla.
+ *
+ * <p>Formatos aceptados:
+ * <ul>
+ *     <li>Nombres conocidos: "conway", "brianbrain", "starwars", "wireworld".</li>
+ *     <li>Notación Generations "B&lt;nacimiento&gt;/S&lt;supervivencia&gt;/C&lt;estados&gt;",
+ *         por ejemplo "B2/S/C3". Si se omite C se usan 2 estados (reglas tipo Life).</li>
+ * </ul>
+ */
+public final class CellRule {
+    /** Máximo de vecinos posibles (vecindario de Moore). */
+    static final int MAX_NEIGHBORS = 8;
+
+    /** Máximo de estados representables con 4 bits por célula. */
+    static final int MAX_STATES = 16;
+
+    // Tabla de referencia para reconocer Conway escrita en cualquier notación
+    private static final byte[] CONWAY_TABLE = generations("conway", "3", "23", 2).table;
+
+    private final String name;
+    private final int states;
+    private final byte[] table; // Índice: estado * (MAX_NEIGHBORS + 1) + vecinos
+
+    private CellRule(String name, int states, byte[] table) {
+        this.name = name;
+        this.states = states;
+        this.table = table;
+    }
+
+    /**
+     * Interpreta el nombre o la notación de una regla.
+     *
+     * @param spec Nombre conocido o notación "B.../S.../C..."
+     * @return La regla, o null si el texto no es válido
+     */
+    public static CellRule parse(String spec) {
+        String s = spec.trim().toLowerCase(Locale.ROOT);
+        return switch (s) {
+            case "conway", "life" -> generations("conway", "3", "23", 2);
+            case "brianbrain" -> generations("brianbrain", "2", "", 3);
+            case "starwars" -> generations("starwars", "2", "345", 4);
+            case "wireworld" -> wireworld();
+            default -> parseGenerations(s);
+        };
+    }
+
+    /**
+     * Interpreta la notación "B.../S.../C...".
+     *
+     * @param s Texto en minúsculas
+     * @return La regla, o null si el texto no es válido
+     */
+    private static CellRule parseGenerations(String s) {
+        String birth = null, survival = null;
+        int states = 2;
+        for (String part : s.split("/")) {
+            if (part.isEmpty()) return null;
+            String digits = part.substring(1);
+            switch (part.charAt(0)) {
+                case 'b' -> birth = digits;
+                case 's' -> survival = digits;
+                case 'c', 'g' -> {
+                    try {
+                        states = Integer.parseInt(digits);
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+                }
+                default -> {
+                    return null;
+                }
+            }
+        }
+        if (birth == null || survival == null || states < 2 || states > MAX_STATES) {
+            return null;
+        }
+        if (!isNeighborList(birth) || !isNeighborList(survival)) {
+            return null;
+        }
+        return generations(s, birth, survival, states);
+    }
+
+    private static boolean isNeighborList(String digits) {
+        for (int i = 0; i < digits.length(); i++) {
+            char c = digits.charAt(i);
+            if (c < '0' || c > '0' + MAX_NEIGHBORS) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Construye una regla de la familia Generations. El estado 0 es muerto, el 1 vivo y
+     * los estados 2..states-1 son etapas de "muriendo" que avanzan una por generación
+     * hasta volver a 0. Con 2 estados se obtiene una regla tipo Life (Conway es B3/S23).
+     *
+     * @param name Nombre de la regla
+     * @param birth Números de vecinos con los que nace una célula muerta
+     * @param survival Números de vecinos con los que sobrevive una célula viva
+     * @param states Número total de estados
+     * @return La regla
+     */
+    private static CellRule generations(String name, String birth, String survival, int states) {
+        byte[] table = new byte[states * (MAX_NEIGHBORS + 1)];
+        for (int n = 0; n <= MAX_NEIGHBORS; n++) {
+            char digit = (char) ('0' + n);
+            // Muerta: nace si el número de vecinos está en B
+            table[n] = (byte) (birth.indexOf(digit) >= 0 ? 1 : 0);
+            // Viva: sobrevive si está en S; si no, empieza a morir (o muere si solo hay 2 estados)
+            table[(MAX_NEIGHBORS + 1) + n] = (byte) (survival.indexOf(digit) >= 0 ? 1 : 2 % states);
+            // Muriendo: avanza a la siguiente etapa sin importar los vecinos
+            for (int state = 2; state < states; state++) {
+                table[state * (MAX_NEIGHBORS + 1) + n] = (byte) ((state + 1) % states);
+            }
+        }
+        return new CellRule(name, states, table);
+    }
+
+    /**
+     * Construye Wireworld: 0 vacío, 1 cabeza de electrón, 2 cola de electrón y 3 conductor.
+     * La cabeza pasa a cola, la cola a conductor y el conductor a cabeza si tiene 1 o 2
+     * cabezas vecinas.
+     *
+     * @return La regla
+     */
+    private static CellRule wireworld() {
+        byte[] table = new byte[4 * (MAX_NEIGHBORS + 1)];
+        for (int n = 0; n <= MAX_NEIGHBORS; n++) {
+            table[(MAX_NEIGHBORS + 1) + n] = 2;
+            table[2 * (MAX_NEIGHBORS + 1) + n] = 3;
+            table[3 * (MAX_NEIGHBORS + 1) + n] = (byte) (n == 1 || n == 2 ? 1 : 3);
+        }
+        return new CellRule("wireworld", 4, table);
+    }
+
+    /**
+     * Devuelve el siguiente estado de una célula.
+     *
+     * @param state Estado actual
+     * @param neighbors Número de vecinos en estado 1
+     * @return Estado en la siguiente generación
+     */
+    public int next(int state, int neighbors) {
+        return table[state * (MAX_NEIGHBORS + 1) + neighbors];
+    }
+
+    /**
+     * Tabla de transiciones para ciclos de simulación que indexan directamente
+     * con {@code estado * (MAX_NEIGHBORS + 1) + vecinos}. No debe modificarse.
+     *
+     * @return La tabla de transiciones
+     */
+    byte[] transitionTable() {
+        return table;
+    }
+
+    public String getName() { return name; }
+    public int getStates() { return states; }
+
+    /**
+     * Indica si la regla es la de Conway, sin importar cómo se escribió ("conway", "life",
+     * "B3/S23", "B3/S23/C2", ...): se comparan las tablas de transiciones, no los nombres.
+     *
+     * @return true si la regla evoluciona igual que Conway
+     */
+    public boolean isConway() {
+        return Arrays.equals(table, CONWAY_TABLE);
+    }
+
+    /**
+     * Bits necesarios para guardar un estado: 1, 2 o 4 (potencias de dos para que
+     * ninguna célula quede repartida entre dos palabras del arreglo empaquetado).
+     *
+     * @return Bits por célula
+     */
+    public int getBitsPerCell() {
+        return states <= 2 ? 1 : states <= 4 ? 2 : 4;
+    }
+}
@@ -0,0 +1,127 @@
+package com.gameoflife;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Utilidades de lectura y escritura bloqueante sobre {@link SocketChannel}.
+ * Las usan el coordinador y los trabajadores de la simulación distribuida
+ * para intercambiar mensajes de tamaño fijo y las filas frontera (halos).
+ */
+final class ChannelIO {
+
+    private ChannelIO() {
+    }
+
+    /**
+     * Escribe todo el contenido restante del buffer en el canal.
+     *
+     * @param channel Canal de destino
+     * @param buffer Buffer con los datos a enviar
+     * @throws IOException Si el canal falla o se cierra
+     */
+    static void writeFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Lee del canal hasta llenar el espacio restante del buffer.
+     *
+     * @param channel Canal de origen
+     * @param buffer Buffer a llenar
+     * @throws IOException Si el canal falla o se cierra antes de completar la lectura
+     */
+    static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Conexión cerrada por el otro extremo");
+            }
+        }
+    }
+
+    /**
+     * Escribe un tramo de un arreglo de bytes en el canal sin copiarlo.
+     *
+     * @param channel Canal de destino
+     * @param data Arreglo de origen
+     * @param offset Posición inicial dentro del arreglo
+     * @param length Número de bytes a enviar
+     * @throws IOException Si el canal falla o se cierra
+     */
+    static void writeBytes(SocketChannel channel, byte[] data, int offset, int length) throws IOException {
+        writeFully(channel, ByteBuffer.wrap(data, offset, length));
+    }
+
+    /**
+     * Lee un tramo del canal directamente sobre un arreglo de bytes.
+     *
+     * @param channel Canal de origen
+     * @param data Arreglo de destino
+     * @param offset Posición inicial dentro del arreglo
+     * @param length Número de bytes a leer
+     * @throws IOException Si el canal falla o se cierra antes de completar la lectura
+     */
+    static void readBytes(SocketChannel channel, byte[] data, int offset, int length) throws IOException {
+        readFully(channel, ByteBuffer.wrap(data, offset, length));
+    }
+
+    /**
+     * Lee un entero de 4 bytes del canal.
+     *
+     * @param channel Canal de origen
+     * @param scratch Buffer auxiliar reutilizable de al menos 8 bytes
+     * @return El entero leído
+     * @throws IOException Si el canal falla o se cierra
+     */
+    static int readInt(SocketChannel channel, ByteBuffer scratch) throws IOException {
+        scratch.clear().limit(Integer.BYTES);
+        readFully(channel, scratch);
+        return scratch.flip().getInt();
+    }
+
+    /**
+     * Lee un entero de 8 bytes del canal.
+     *
+     * @param channel Canal de origen
+     * @param scratch Buffer auxiliar reutilizable de al menos 8 bytes
+     * @return El entero leído
+     * @throws IOException Si el canal falla o se cierra
+     */
+    static long readLong(SocketChannel channel, ByteBuffer scratch) throws IOException {
+        scratch.clear().limit(Long.BYTES);
+        readFully(channel, scratch);
+        return scratch.flip().getLong();
+    }
+
+    /**
+     * Escribe un entero de 4 bytes en el canal.
+     *
+     * @param channel Canal de destino
+     * @param scratch Buffer auxiliar reutilizable de al menos 8 bytes
+     * @param value Valor a enviar
+     * @throws IOException Si el canal falla o se cierra
+     */
+    static void writeInt(SocketChannel channel, ByteBuffer scratch, int value) throws IOException {
+        scratch.clear();
+        scratch.putInt(value).flip();
+        writeFully(channel, scratch);
+    }
+
+    /**
+     * Escribe un entero de 8 bytes en el canal.
+     *
+     * @param channel Canal de destino
+     * @param scratch Buffer auxiliar reutilizable de al menos 8 bytes
+     * @param value Valor a enviar
+     * @throws IOException Si el canal falla o se cierra
+     */
+    static void writeLong(SocketChannel channel, ByteBuffer scratch, long value) throws IOException {
+        scratch.clear();
+        scratch.putLong(value).flip();
+        writeFully(channel, scratch);
+    }
+}
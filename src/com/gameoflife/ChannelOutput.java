@@ -0,0 +1,106 @@
+package com.gameoflife;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Salida binaria con buffer sobre un {@link FileChannel}.
+ * Los exportadores de animaciones escriben byte a byte en un {@link ByteBuffer} reutilizable
+ * que solo se vuelca al archivo cuando se llena, sin crear objetos por fotograma.
+ */
+final class ChannelOutput implements AutoCloseable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * Crea (o trunca) el archivo indicado.
+     *
+     * @param path Ruta del archivo de salida
+     * @throws IOException Si no se puede abrir el archivo
+     */
+    ChannelOutput(Path path) throws IOException {
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    void put(int value) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put((byte) value);
+    }
+
+    void put(byte[] data, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int n = Math.min(length, buffer.remaining());
+            buffer.put(data, offset, n);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /** Escribe un entero de 16 bits en orden little-endian (GIF). */
+    void putShortLE(int value) throws IOException {
+        put(value & 0xFF);
+        put((value >>> 8) & 0xFF);
+    }
+
+    /** Escribe un entero de 32 bits en orden big-endian (PNG). */
+    void putIntBE(int value) throws IOException {
+        put(value >>> 24);
+        put(value >>> 16);
+        put(value >>> 8);
+        put(value);
+    }
+
+    /**
+     * Posición absoluta en el archivo del próximo byte que se escriba.
+     *
+     * @return Posición en bytes
+     * @throws IOException Si el canal falla
+     */
+    long position() throws IOException {
+        return channel.position() + buffer.position();
+    }
+
+    /**
+     * Sobrescribe bytes ya escritos en una posición anterior del archivo,
+     * por ejemplo para completar una cabecera cuyo valor solo se conoce al final.
+     *
+     * @param position Posición absoluta en el archivo
+     * @param data Bytes a escribir
+     * @throws IOException Si el canal falla
+     */
+    void patch(long position, byte[] data) throws IOException {
+        flush();
+        ByteBuffer patch = ByteBuffer.wrap(data);
+        while (patch.hasRemaining()) {
+            channel.write(patch, position + patch.position());
+        }
+    }
+
+    void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,446 @@
+package com.gameoflife;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordinador de la simulación distribuida del Juego de la Vida.
+ * Reparte el tablero en franjas horizontales entre varios procesos {@link GridWorker}
+ * que se comunican por sockets locales, agrega las estadísticas de población de cada
+ * generación y guarda instantáneas del tablero en disco sin mantenerlo completo en memoria.
+ */
+public class DistributedSimulation {
+    // Órdenes que el coordinador envía a los trabajadores (combinables como banderas)
+    static final int CMD_STOP = 0;     // Terminar el proceso
+    static final int CMD_REPORT = 1;   // Informar la población actual (vivas y en otros estados)
+    static final int CMD_STEP = 2;     // Avanzar una generación antes de informar
+    static final int CMD_SNAPSHOT = 4; // Enviar la franja completa después de informar
+
+    // Espera máxima para que todos los trabajadores se conecten y frecuencia de comprobación
+    private static final long CONNECT_TIMEOUT_MS = 30_000;
+    private static final long CONNECT_POLL_MS = 200;
+
+    // Códigos de color ANSI
+    private static final String RESET = Colors.RESET;
+    private static final String GREEN = Colors.GREEN;
+    private static final String YELLOW = Colors.YELLOW;
+    private static final String BOLD = Colors.BOLD;
+    private static final String RED = Colors.RED;
+
+    // Parámetros de la simulación
+    private final int width;
+    private final int height;
+    private final String population;
+    private final int neighborhood;
+    private final int generations;
+    private final int workers;
+    private final int snapshotEvery;
+    private final CellRule rule;
+
+    // Conexiones y procesos de los trabajadores, indexados por franja
+    private final SocketChannel[] channels;
+    private final Process[] processes;
+    private final int[] stripeRows;
+
+    // Buffers reutilizables para recibir una fila empaquetada, desempaquetarla y escribirla como texto
+    private final ByteBuffer rowWords;
+    private final PackedCells packedRow;
+    private final byte[] rowBuffer;
+    private final ByteBuffer lineBuffer;
+    private final ByteBuffer scratch = ByteBuffer.allocate(Long.BYTES);
+
+    // Exportador opcional de la animación (null si no se exporta)
+    private AnimationExporter exporter;
+
+    /**
+     * Constructor del coordinador.
+     *
+     * @param width Ancho del tablero
+     * @param height Alto del tablero
+     * @param population Población inicial ("rnd" o patrón con filas separadas por '#')
+     * @param neighborhood Tipo de vecindario (1-5)
+     * @param generations Número de generaciones a simular (0=infinito)
+     * @param workers Número de procesos trabajadores
+     * @param snapshotEvery Cada cuántas generaciones guardar una instantánea (0=ninguna)
+     * @param rule Regla de evolución
+     */
+    public DistributedSimulation(int width, int height, String population, int neighborhood,
+                                 int generations, int workers, int snapshotEvery, CellRule rule) {
+        this.width = width;
+        this.height = height;
+        this.population = population;
+        this.neighborhood = neighborhood;
+        this.generations = generations;
+        this.workers = workers;
+        this.snapshotEvery = snapshotEvery;
+        this.rule = rule;
+        this.channels = new SocketChannel[workers];
+        this.processes = new Process[workers];
+        this.stripeRows = new int[workers];
+        int cellsPerWord = PackedCells.cellsPerWord(rule.getBitsPerCell());
+        int wordsPerRow = (width + cellsPerWord - 1) / cellsPerWord;
+        this.rowWords = ByteBuffer.allocate(wordsPerRow * Long.BYTES);
+        this.packedRow = new PackedCells(wordsPerRow * cellsPerWord, rule.getBitsPerCell());
+        this.rowBuffer = new byte[width];
+        this.lineBuffer = ByteBuffer.allocate(width + 1);
+        this.lineBuffer.put(width, (byte) '\n');
+    }
+
+    /**
+     * Asigna el exportador que recibirá un fotograma por cada generación. Mientras haya
+     * exportador, los trabajadores envían su franja en todas las generaciones.
+     *
+     * @param exporter Exportador de la animación, o null para no exportar
+     */
+    public void setExporter(AnimationExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    /**
+     * Lanza los trabajadores, ejecuta la simulación y los detiene al terminar.
+     */
+    public void run() {
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress("127.0.0.1", 0));
+            launchWorkers(((InetSocketAddress) server.getLocalAddress()).getPort());
+            connectWorkers(server);
+            simulate();
+            broadcast(CMD_STOP);
+        } catch (IOException e) {
+            System.out.println(RED + "Error en la simulación distribuida: " + e.getMessage() + RESET);
+        } finally {
+            shutdownWorkers();
+        }
+    }
+
+    /**
+     * Inicia un proceso {@link GridWorker} por franja con la misma JVM, classpath y opciones
+     * de la JVM (memoria, recolector, ...) que el coordinador. Así, por ejemplo, un
+     * {@code -Xmx} suficiente para las franjas de un tablero grande llega a todos los trabajadores.
+     *
+     * @param port Puerto en el que el coordinador espera a los trabajadores
+     * @throws IOException Si no se puede iniciar algún proceso
+     */
+    private void launchWorkers(int port) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(workerJvmOptions());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(GridWorker.class.getName());
+        command.add(String.valueOf(port));
+        int indexPosition = command.size();
+        command.add("");
+
+        for (int i = 0; i < workers; i++) {
+            command.set(indexPosition, String.valueOf(i));
+            processes[i] = new ProcessBuilder(command)
+                    .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+        }
+    }
+
+    /**
+     * Opciones -X y -XX con las que se inició el coordinador, para repetirlas en los trabajadores.
+     * Se omiten las que escriben archivos por proceso (volcados de clases para AppCDS), que
+     * varios procesos no pueden compartir.
+     *
+     * @return Opciones de la JVM para los trabajadores
+     */
+    private static List<String> workerJvmOptions() {
+        List<String> options = new ArrayList<>();
+        for (String option : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (!option.startsWith("-X")
+                    || option.startsWith("-XX:ArchiveClassesAtExit")
+                    || option.startsWith("-XX:DumpLoadedClassList")
+                    || option.startsWith("-Xshare:dump")) {
+                continue;
+            }
+            options.add(option);
+        }
+        return options;
+    }
+
+    /**
+     * Acepta la conexión de cada trabajador y le envía su franja, la semilla común y
+     * el puerto del vecino superior al que debe conectarse para intercambiar halos.
+     *
+     * @param server Canal en el que se aceptan las conexiones
+     * @throws IOException Si falla alguna conexión, si un trabajador termina antes de
+     *                     conectarse o si no se conecta dentro del tiempo límite
+     */
+    private void connectWorkers(ServerSocketChannel server) throws IOException {
+        int[] ports = new int[workers];
+        acceptWorkers(server, ports);
+
+        long seed = System.nanoTime();
+        byte[] pattern = population.getBytes(StandardCharsets.UTF_8);
+        byte[] ruleName = rule.getName().getBytes(StandardCharsets.UTF_8);
+        int rowStart = 0;
+        for (int i = 0; i < workers; i++) {
+            // Reparte el resto de la división entre las primeras franjas
+            stripeRows[i] = height / workers + (i < height % workers ? 1 : 0);
+
+            SocketChannel channel = channels[i];
+            ChannelIO.writeInt(channel, scratch, width);
+            ChannelIO.writeInt(channel, scratch, rowStart);
+            ChannelIO.writeInt(channel, scratch, stripeRows[i]);
+            ChannelIO.writeInt(channel, scratch, neighborhood);
+            ChannelIO.writeLong(channel, scratch, seed);
+            ChannelIO.writeInt(channel, scratch, i > 0 ? ports[i - 1] : -1);
+            ChannelIO.writeInt(channel, scratch, i < workers - 1 ? 1 : 0);
+            ChannelIO.writeInt(channel, scratch, pattern.length);
+            ChannelIO.writeBytes(channel, pattern, 0, pattern.length);
+            ChannelIO.writeInt(channel, scratch, ruleName.length);
+            ChannelIO.writeBytes(channel, ruleName, 0, ruleName.length);
+            rowStart += stripeRows[i];
+        }
+    }
+
+    /**
+     * Espera las conexiones de los trabajadores con un {@link Selector} en lugar de un accept()
+     * bloqueante, de modo que se puede comprobar periódicamente que los procesos siguen vivos.
+     * Cada trabajador se presenta con su índice y el puerto en el que acepta a su vecino de abajo.
+     *
+     * @param server Canal en el que se aceptan las conexiones
+     * @param ports Arreglo donde se guarda el puerto de cada trabajador
+     * @throws IOException Si un trabajador termina antes de conectarse o no se conecta a tiempo
+     */
+    private void acceptWorkers(ServerSocketChannel server, int[] ports) throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CONNECT_TIMEOUT_MS);
+        int connected = 0;
+
+        server.configureBlocking(false);
+        try (Selector selector = Selector.open()) {
+            server.register(selector, SelectionKey.OP_ACCEPT);
+            while (connected < workers) {
+                selector.select(CONNECT_POLL_MS);
+                selector.selectedKeys().clear();
+
+                SocketChannel channel;
+                while (connected < workers && (channel = server.accept()) != null) {
+                    // Los canales aceptados son bloqueantes aunque el servidor no lo sea
+                    int index = ChannelIO.readInt(channel, scratch);
+                    if (index < 0 || index >= workers || channels[index] != null) {
+                        channel.close();
+                        throw new IOException("Conexión de trabajador no válida (índice " + index + ")");
+                    }
+                    ports[index] = ChannelIO.readInt(channel, scratch);
+                    channels[index] = channel;
+                    connected++;
+                }
+
+                for (int i = 0; i < workers; i++) {
+                    if (channels[i] == null && !processes[i].isAlive()) {
+                        throw new IOException("El trabajador " + i + " terminó antes de conectarse (código "
+                                + processes[i].exitValue() + ")");
+                    }
+                }
+                if (connected < workers && System.nanoTime() - deadline > 0) {
+                    for (int i = 0; i < workers; i++) {
+                        if (channels[i] == null) {
+                            throw new IOException("El trabajador " + i + " no se conectó en "
+                                    + CONNECT_TIMEOUT_MS / 1000 + " segundos");
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Ciclo principal: ordena a todos los trabajadores avanzar en paralelo y después
+     * recoge en orden la población y, cuando corresponde, la instantánea de cada franja.
+     *
+     * @throws IOException Si falla alguna conexión o la escritura de una instantánea
+     */
+    private void simulate() throws IOException {
+        int generation = 0;
+
+        while (generations == 0 || generation <= generations) {
+            boolean snapshot = isSnapshotGeneration(generation);
+            boolean transfer = snapshot || exporter != null;
+            int command = CMD_REPORT
+                    | (generation > 0 ? CMD_STEP : 0)
+                    | (transfer ? CMD_SNAPSHOT : 0);
+            broadcast(command);
+
+            long alive = 0;
+            long other = 0;
+            try (FileChannel out = snapshot ? openSnapshot(generation) : null) {
+                int rowStart = 0;
+                for (int i = 0; i < workers; i++) {
+                    alive += ChannelIO.readLong(channels[i], scratch);
+                    other += ChannelIO.readLong(channels[i], scratch);
+                    if (transfer) {
+                        receiveStripe(channels[i], rowStart, stripeRows[i], out);
+                    }
+                    rowStart += stripeRows[i];
+                }
+            }
+            printPopulationStatistics(generation, alive, other);
+            exportFrame();
+
+            if (generations == 0 && Grid.isSpacePressed()) {
+                System.out.println(YELLOW + "\nSimulación detenida por el usuario." + RESET);
+                break;
+            }
+            generation++;
+        }
+        if (generations > 0 && generation > generations) {
+            System.out.println(YELLOW + "\nSimulación completada: se alcanzó el límite de " + generations + " generaciones." + RESET);
+        }
+    }
+
+    /**
+     * Indica si en la generación dada se debe guardar una instantánea. Sin intervalo
+     * (0) no se guarda ninguna; con intervalo también se guarda la última generación de una
+     * simulación finita.
+     *
+     * @param generation Número de la generación actual
+     * @return true si se debe guardar una instantánea
+     */
+    private boolean isSnapshotGeneration(int generation) {
+        if (snapshotEvery <= 0) {
+            return false;
+        }
+        return generation % snapshotEvery == 0 || (generations > 0 && generation == generations);
+    }
+
+    /**
+     * Abre el archivo de instantánea de una generación.
+     *
+     * @param generation Número de la generación
+     * @return Canal de escritura del archivo "snapshot-&lt;generación&gt;.txt"
+     * @throws IOException Si no se puede crear el archivo
+     */
+    private FileChannel openSnapshot(int generation) throws IOException {
+        return FileChannel.open(Path.of("snapshot-" + generation + ".txt"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Recibe una franja fila por fila. Cada fila llega empaquetada igual que la guarda el
+     * trabajador ({@link PackedCells}, alineada a palabras de 64 bits), se desempaqueta y se escribe como texto (un dígito hexadecimal
+     * por célula con su estado: '1' viva, '0' muerta)
+     * si hay archivo de instantánea y se copia al fotograma del exportador si lo hay, de modo
+     * que el coordinador solo guarda una fila (más el fotograma de la animación) en memoria.
+     *
+     * @param channel Canal del trabajador
+     * @param rowStart Primera fila global de la franja
+     * @param rows Filas de la franja
+     * @param out Archivo de instantánea, o null si en esta generación no se guarda
+     * @throws IOException Si falla la lectura o la escritura
+     */
+    private void receiveStripe(SocketChannel channel, int rowStart, int rows, FileChannel out) throws IOException {
+        for (int i = 0; i < rows; i++) {
+            rowWords.clear();
+            ChannelIO.readFully(channel, rowWords);
+            rowWords.flip();
+            packedRow.setWords(0, rowWords);
+            packedRow.getRange(0, rowBuffer, 0, width);
+            if (exporter != null) {
+                exporter.setRow(rowStart + i, rowBuffer, 0);
+            }
+            if (out != null) {
+                for (int j = 0; j < width; j++) {
+                    lineBuffer.put(j, (byte) Character.forDigit(rowBuffer[j], 16));
+                }
+                lineBuffer.clear();
+                while (lineBuffer.hasRemaining()) {
+                    out.write(lineBuffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Envía al exportador el fotograma recibido de los trabajadores, si hay uno asignado.
+     * Si la escritura falla se muestra el error y se deja de exportar sin detener la simulación.
+     */
+    private void exportFrame() {
+        if (exporter == null) {
+            return;
+        }
+        try {
+            exporter.writeFrame();
+        } catch (IOException e) {
+            System.out.println(RED + "Error al exportar la animación: " + e.getMessage() + RESET);
+            exporter = null;
+        }
+    }
+
+    /**
+     * Imprime las estadísticas agregadas de población de una generación.
+     * En reglas con más de dos estados también se muestra cuántas células están en los demás estados.
+     *
+     * @param generation Número de la generación
+     * @param alive Número total de células vivas (estado 1)
+     * @param other Número total de células en estados 2 en adelante
+     */
+    private void printPopulationStatistics(int generation, long alive, long other) {
+        long dead = (long) width * height - alive - other;
+        String others = rule.getStates() > 2 ? " | " + YELLOW + "Otros Estados: " + other + RESET : "";
+        System.out.println(BOLD + YELLOW + "Generación " + generation + RESET + " | "
+                + GREEN + "Células Vivas: " + alive + RESET + " | "
+                + RED + "Células Muertas: " + dead + RESET + others);
+    }
+
+    /**
+     * Envía la misma orden a todos los trabajadores.
+     *
+     * @param command Orden a enviar
+     * @throws IOException Si falla alguna conexión
+     */
+    private void broadcast(int command) throws IOException {
+        for (SocketChannel channel : channels) {
+            ChannelIO.writeInt(channel, scratch, command);
+        }
+    }
+
+    /**
+     * Cierra las conexiones y espera a que terminen los procesos; los que no terminen se destruyen.
+     * Los trabajadores que aún no se habían conectado se destruyen de inmediato, ya que nunca
+     * recibirán la orden de detenerse.
+     */
+    private void shutdownWorkers() {
+        for (SocketChannel channel : channels) {
+            if (channel == null) continue;
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Se cierran las demás conexiones de todas formas
+            }
+        }
+        for (int i = 0; i < workers; i++) {
+            Process process = processes[i];
+            if (process == null) continue;
+            if (channels[i] == null) {
+                process.destroyForcibly();
+                continue;
+            }
+            try {
+                if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
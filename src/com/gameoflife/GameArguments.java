@@ -12,6 +12,13 @@ public class GameArguments {
     private final int speed;          // Velocidad en ms entre generaciones
     private final String population;  // Población inicial (formato string o "rnd")
     private final int neighborhood;   // Tipo de vecindario para contar células
+    private final int workers;        // Procesos trabajadores en modo distribuido (0=local)
+    private final int snapshotEvery;  // Cada cuántas generaciones guardar una instantánea (0=ninguna)
+    private final String exportPath;  // Archivo de animación (.gif, .apng o .png), null si no se exporta
+    private final String rule;        // Regla de evolución (conway, brianbrain, starwars, wireworld o B/S/C)
+    private final boolean quiet;      // Modo rápido: sin panel, sin sonidos y sin retardo mínimo
+    private final boolean census;     // Censo de objetos sobre el tablero final
+    private final int soups;          // Sopas a simular y analizar sin dibujarlas (0=simulación normal)
 
     // Códigos de color ANSI
     private static final String RESET = Colors.RESET;
@@ -28,8 +35,10 @@ public class GameArguments {
         // Procesar los argumentos
         Parameters params = processArguments(args);
 
-        // Mostrar parámetros configurados
-        printConfiguration(params);
+        // Mostrar parámetros configurados (salvo en modo rápido)
+        if (!params.quiet) {
+            printConfiguration(params);
+        }
 
         // Validar parámetros
         validateParameters(params);
@@ -41,6 +50,29 @@ public class GameArguments {
         this.speed = params.speed;
         this.population = params.population;
         this.neighborhood = params.neighborhood;
+        this.workers = params.workers;
+        this.snapshotEvery = params.snapshotEvery;
+        this.exportPath = params.exportPath;
+        this.rule = params.rule;
+        this.quiet = params.quiet;
+        this.census = params.census;
+        this.soups = params.soups;
+    }
+
+    /**
+     * Indica si los argumentos activan el modo rápido ("q=1"). Se consulta antes de construir
+     * GameArguments para poder omitir el panel de bienvenida y el sonido de inicio.
+     *
+     * @param args Argumentos en formato "param=valor"
+     * @return true si se pidió el modo rápido
+     */
+    public static boolean isQuiet(String[] args) {
+        for (String arg : args) {
+            if (arg.equals("q=1")) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -64,6 +96,13 @@ public class GameArguments {
                     case "s": params.speed = Integer.parseInt(parts[1]); break; // Velocidad
                     case "p": params.population = parts[1]; break; // Población
                     case "n": params.neighborhood = Integer.parseInt(parts[1]); break; // Vecindario
+                    case "d": params.workers = Integer.parseInt(parts[1]); break; // Trabajadores distribuidos
+                    case "x": params.snapshotEvery = Integer.parseInt(parts[1]); break; // Instantáneas
+                    case "e": params.exportPath = parts[1]; break; // Exportar animación
+                    case "r": params.rule = parts[1]; break; // Regla de evolución
+                    case "q": params.quiet = "1".equals(parts[1]); break; // Modo rápido
+                    case "c": params.census = "1".equals(parts[1]); break; // Censo de objetos
+                    case "m": params.soups = Integer.parseInt(parts[1]); break; // Búsqueda de sopas
                 }
             }
         } catch (NumberFormatException e) {
@@ -86,7 +125,19 @@ public class GameArguments {
         System.out.println("  • " + GREEN + "Generaciones = " + params.generations + RESET);
         System.out.println("  • " + GREEN + "Velocidad = " + params.speed + " ms" + RESET);
         System.out.println("  • " + GREEN + "Población = " + params.population + RESET);
-        System.out.println("  • " + GREEN + "Vecindario = " + params.neighborhood + RESET + "\n");
+        System.out.println("  • " + GREEN + "Vecindario = " + params.neighborhood + RESET);
+        System.out.println("  • " + GREEN + "Regla = " + params.rule + RESET);
+        if (params.workers > 0) {
+            System.out.println("  • " + GREEN + "Trabajadores = " + params.workers + RESET);
+            System.out.println("  • " + GREEN + "Instantáneas = " + params.snapshotEvery + RESET);
+        }
+        if (params.exportPath != null) {
+            System.out.println("  • " + GREEN + "Exportar = " + params.exportPath + RESET);
+        }
+        if (params.soups != 0) {
+            System.out.println("  • " + GREEN + "Sopas = " + params.soups + RESET);
+        }
+        System.out.println();
     }
 
     /**
@@ -119,18 +170,90 @@ public class GameArguments {
     private boolean isValid() {
         StringBuilder errors = new StringBuilder();
 
-        // Validación de dimensiones
-        if (!(width == 10 || width == 20 || width == 40 || width == 80)) {
-            errors.append("Ancho debe ser 10, 20, 40 u 80\n");
+        if (soups != 0) {
+            // La búsqueda de sopas no dibuja el tablero ni espera entre generaciones: se admite
+            // cualquier tamaño cuyas células se puedan indexar con un int, y la velocidad se ignora.
+            if (soups < 0) {
+                errors.append("Sopas no puede ser negativo\n");
+            }
+            if (width <= 0 || height <= 0) {
+                errors.append("Ancho y alto deben ser positivos\n");
+            } else if ((long) width * height > Integer.MAX_VALUE - 8) {
+                errors.append("Tablero demasiado grande para el censo\n");
+            }
+            if (generations <= 0) {
+                errors.append("Generaciones debe ser positivo: es el límite de cada sopa\n");
+            }
+            if (workers != 0 || exportPath != null) {
+                errors.append("Sopas no admite trabajadores (d) ni exportar (e)\n");
+            }
+        } else if (workers > 0) {
+            // En modo distribuido el tablero no se dibuja, así que se admiten dimensiones
+            // arbitrarias siempre que cada trabajador reciba al menos una fila.
+            if (width <= 0) {
+                errors.append("Ancho debe ser positivo\n");
+            }
+            if (height < workers) {
+                errors.append("Alto debe ser mayor o igual que el número de trabajadores\n");
+            } else if (workers > 0 && ((long) (height + workers - 1) / workers + 2) * ((width + 63L) / 64 * 64)
+                    > Integer.MAX_VALUE) {
+                // Cada franja (más sus dos halos, con filas alineadas a 64 bits) se indexa con un int
+                errors.append("Franja demasiado grande: aumente el número de trabajadores\n");
+            }
+            if (snapshotEvery < 0) {
+                errors.append("Instantáneas no puede ser negativo\n");
+            }
+        } else {
+            // Validación de dimensiones
+            if (!(width == 10 || width == 20 || width == 40 || width == 80)) {
+                errors.append("Ancho debe ser 10, 20, 40 u 80\n");
+            }
+
+            if (!(height == 10 || height == 20 || height == 40)) {
+                errors.append("Alto debe ser 10, 20 o 40\n");
+            }
+
+            // Validación de velocidad (en modo rápido se admite 0 para no esperar entre generaciones)
+            if (quiet) {
+                if (!(speed >= 0 && speed <= 1000)) {
+                    errors.append("Velocidad debe estar entre 0 y 1000 ms\n");
+                }
+            } else if (!(speed >= 250 && speed <= 1000)) {
+                errors.append("Velocidad debe estar entre 250 y 1000 ms\n");
+            }
+        }
+
+        // Validación de la regla
+        CellRule cellRule = CellRule.parse(rule);
+        if (cellRule == null) {
+            errors.append("Regla debe ser conway, brianbrain, starwars, wireworld o B.../S.../C...\n");
         }
 
-        if (!(height == 10 || height == 20 || height == 40)) {
-            errors.append("Alto debe ser 10, 20 o 40\n");
+        // El censo usa una tabla de objetos de Conway con vecindario de Moore sobre la cuadrícula local
+        boolean conway = cellRule != null && cellRule.isConway();
+        if (census && (workers > 0 || neighborhood != 3 || !conway)) {
+            errors.append("Censo solo disponible en modo local con la regla conway y vecindario 3\n");
+        }
+        if (soups != 0 && (neighborhood != 3 || !conway)) {
+            errors.append("Sopas solo disponible con la regla conway y vecindario 3\n");
+        }
+
+        // Validación del archivo de exportación
+        if (exportPath != null) {
+            if (!AnimationExporter.isSupported(exportPath)) {
+                errors.append("Exportar debe terminar en .gif, .apng o .png\n");
+            } else if ((long) width * height > Integer.MAX_VALUE - 8) {
+                // El exportador guarda un fotograma completo del tablero en memoria
+                errors.append("Tablero demasiado grande para exportar\n");
+            } else if (!AnimationExporter.fitsFormat(exportPath, width, height)) {
+                errors.append("GIF admite como máximo " + AnimationExporter.GIF_MAX_SIDE
+                        + " píxeles por lado; use .apng o .png\n");
+            }
         }
 
-        // Validación de velocidad
-        if (!(speed >= 250 && speed <= 1000)) {
-            errors.append("Velocidad debe estar entre 250 y 1000 ms\n");
+        // Número de trabajadores negativo no permitido
+        if (workers < 0) {
+            errors.append("Trabajadores no puede ser negativo\n");
         }
 
         // Validación de vecindario
@@ -160,6 +283,14 @@ public class GameArguments {
     public int getSpeed() { return speed; }
     public String getPopulation() { return population; }
     public int getNeighborhood() { return neighborhood; }
+    public int getWorkers() { return workers; }
+    public int getSnapshotEvery() { return snapshotEvery; }
+    public boolean isDistributed() { return workers > 0; }
+    public String getExportPath() { return exportPath; }
+    public CellRule getRule() { return CellRule.parse(rule); }
+    public boolean isCensus() { return census; }
+    public int getSoups() { return soups; }
+    public boolean isSoupSearch() { return soups > 0; }
 
     /**
      * Clase interna para almacenar temporalmente los parámetros procesados.
@@ -171,6 +302,13 @@ public class GameArguments {
         Integer speed = null;
         String population = null;
         Integer neighborhood = 3; // Valor por defecto
+        int workers = 0;          // Por defecto se simula en un solo proceso
+        int snapshotEvery = 0;    // Por defecto no se guardan instantáneas
+        String exportPath = null; // Por defecto no se exporta ninguna animación
+        String rule = "conway";   // Por defecto se usan las reglas de Conway
+        boolean quiet = false;    // Por defecto se muestra el panel y se reproducen sonidos
+        boolean census = false;   // Por defecto no se hace censo de objetos
+        int soups = 0;            // Por defecto se simula y dibuja un solo tablero
     }
 
     /**
@@ -1,5 +1,7 @@
 package com.gameoflife;
 
+import java.io.IOException;
+
 /**
  * Clase principal que inicia el Juego de la Vida.
  * Implementa el famoso autómata celular diseñado por John Conway.
@@ -8,11 +10,16 @@ package com.gameoflife;
  */
 public class GameOfLife {
     public static void main(String[] args) {
-        // Mostrar el panel de bienvenida con colores
-        WelcomePanel.showWelcomeMessage();
-
-        // Iniciar con efectos de sonido
-        MusicPlayer.playStartSound();
+        if (GameArguments.isQuiet(args)) {
+            // Modo rápido: sin panel de bienvenida y sin esperar a que terminen los sonidos
+            MusicPlayer.disable();
+        } else {
+            // Mostrar el panel de bienvenida con colores
+            WelcomePanel.showWelcomeMessage();
+
+            // Iniciar con efectos de sonido
+            MusicPlayer.playStartSound();
+        }
 
         // Procesar y validar los argumentos de entrada
         GameArguments gameArgs = new GameArguments(args);
@@ -21,16 +28,79 @@ public class GameOfLife {
             return;
         }
 
-        // Crear e inicializar la cuadrícula con los parámetros configurados
-        Grid grid = createGridFromArguments(gameArgs);
+        // Abrir el exportador de la animación, si se solicitó
+        AnimationExporter exporter = openExporter(gameArgs);
+        if (gameArgs.getExportPath() != null && exporter == null) {
+            return;
+        }
 
-        // Iniciar la simulación
-        grid.run();
+        if (gameArgs.isSoupSearch()) {
+            // Simular y analizar muchas sopas sin dibujarlas
+            SoupSearch search = new SoupSearch(gameArgs.getWidth(), gameArgs.getHeight(),
+                    gameArgs.getPopulation(), gameArgs.getGenerations(), gameArgs.getSoups());
+            search.run();
+        } else if (gameArgs.isDistributed()) {
+            // Repartir el tablero entre varios procesos trabajadores
+            DistributedSimulation simulation = createDistributedSimulation(gameArgs);
+            simulation.setExporter(exporter);
+            simulation.run();
+        } else {
+            // Crear e inicializar la cuadrícula con los parámetros configurados
+            Grid grid = createGridFromArguments(gameArgs);
+            grid.setExporter(exporter);
+
+            // Iniciar la simulación
+            grid.run();
+
+            // Censo de objetos sobre el tablero final
+            if (gameArgs.isCensus()) {
+                PatternCensus census = new PatternCensus();
+                census.analyze(grid);
+                census.printCensus();
+            }
+        }
+        closeExporter(exporter);
 
         // Sonido de finalización
         MusicPlayer.playEndSound();
     }
 
+    /**
+     * Abre el exportador de la animación indicado con el parámetro "e".
+     *
+     * @param gameArgs Objeto GameArguments con los parámetros configurados
+     * @return El exportador abierto, o null si no se solicitó o no se pudo crear el archivo
+     */
+    private static AnimationExporter openExporter(GameArguments gameArgs) {
+        if (gameArgs.getExportPath() == null) {
+            return null;
+        }
+        try {
+            return AnimationExporter.open(gameArgs.getExportPath(),
+                    gameArgs.getWidth(), gameArgs.getHeight(), gameArgs.getSpeed(), gameArgs.getRule().getStates());
+        } catch (IOException e) {
+            System.out.println(Colors.RED + "Error al crear la animación: " + e.getMessage() + Colors.RESET);
+            return null;
+        }
+    }
+
+    /**
+     * Cierra el exportador de la animación, completando el archivo.
+     *
+     * @param exporter Exportador a cerrar, o null si no se exportó
+     */
+    private static void closeExporter(AnimationExporter exporter) {
+        if (exporter == null) {
+            return;
+        }
+        try {
+            exporter.close();
+            System.out.println(Colors.GREEN + "Animación exportada: " + exporter.getFrameCount() + " fotogramas." + Colors.RESET);
+        } catch (IOException e) {
+            System.out.println(Colors.RED + "Error al exportar la animación: " + e.getMessage() + Colors.RESET);
+        }
+    }
+
     /**
      * Crea una instancia de la cuadrícula utilizando los parámetros validados.
      *
@@ -44,7 +114,27 @@ public class GameOfLife {
                 gameArgs.getPopulation(),
                 gameArgs.getNeighborhood(),
                 gameArgs.getGenerations(),
-                gameArgs.getSpeed()
+                gameArgs.getSpeed(),
+                gameArgs.getRule()
+        );
+    }
+
+    /**
+     * Crea el coordinador de la simulación distribuida utilizando los parámetros validados.
+     *
+     * @param gameArgs Objeto GameArguments con los parámetros configurados
+     * @return Una instancia de DistributedSimulation lista para ejecutarse
+     */
+    private static DistributedSimulation createDistributedSimulation(GameArguments gameArgs) {
+        return new DistributedSimulation(
+                gameArgs.getWidth(),
+                gameArgs.getHeight(),
+                gameArgs.getPopulation(),
+                gameArgs.getNeighborhood(),
+                gameArgs.getGenerations(),
+                gameArgs.getWorkers(),
+                gameArgs.getSnapshotEvery(),
+                gameArgs.getRule()
         );
     }
 }
@@ -0,0 +1,240 @@
+package com.gameoflife;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Exportador a GIF animado (GIF89a) con compresión LZW propia.
+ * Cada generación se escribe como un fotograma que cubre solo el rectángulo modificado
+ * y que se dibuja sobre el anterior sin borrarlo. Las tablas del compresor se reutilizan
+ * entre fotogramas, por lo que la codificación no reserva memoria.
+ */
+class GifExporter extends AnimationExporter {
+    // Parámetros del compresor LZW
+    private static final int MAX_BITS = 12;
+    private static final int MAX_CODES = 1 << MAX_BITS;
+    private static final int HASH_SIZE = 5003; // Primo mayor que MAX_CODES con ~80% de ocupación
+    private static final int HASH_SHIFT = 4;
+
+    private final Path path;
+    private final ChannelOutput out;
+    private final int colorBits;
+
+    // Tablas de códigos y sub-bloque de datos reutilizables
+    private final int[] hashCodes = new int[HASH_SIZE];
+    private final int[] codeTable = new int[HASH_SIZE];
+    private final byte[] block = new byte[255];
+    private int blockLength;
+
+    // Estado del escritor de bits
+    private int bitBuffer;
+    private int bitCount;
+    private int codeBits;
+    private int maxCode;
+
+    /**
+     * Abre el archivo y escribe la cabecera, la paleta global y la extensión de repetición infinita.
+     *
+     * @param path Ruta del archivo GIF
+     * @param width Ancho del tablero en células
+     * @param height Alto del tablero en células
+     * @param delayMs Duración de cada fotograma en milisegundos
+     * @param colors Número de estados de la regla (entradas de la paleta)
+     * @throws IOException Si no se puede crear o escribir el archivo, o si la imagen supera
+     *                     los 65535 píxeles por lado que admite GIF
+     */
+    GifExporter(Path path, int width, int height, int delayMs, int colors) throws IOException {
+        super(width, height, delayMs, colors);
+        if (imageWidth > GIF_MAX_SIDE || imageHeight > GIF_MAX_SIDE) {
+            throw new IOException("GIF admite como máximo " + GIF_MAX_SIDE + " píxeles por lado (imagen de "
+                    + imageWidth + "x" + imageHeight + "); use .apng o .png");
+        }
+        int bits = 1;
+        while ((1 << bits) < colors) {
+            bits++;
+        }
+        this.colorBits = bits;
+        this.path = path;
+        this.out = new ChannelOutput(path);
+
+        // Cabecera y descriptor lógico de pantalla
+        out.put("GIF89a".getBytes(), 0, 6);
+        out.putShortLE(imageWidth);
+        out.putShortLE(imageHeight);
+        out.put(0x80 | ((colorBits - 1) << 4) | (colorBits - 1)); // Paleta global presente
+        out.put(0); // Color de fondo
+        out.put(0); // Relación de aspecto
+
+        // Paleta global (rellenada hasta 2^colorBits entradas)
+        for (int i = 0; i < (1 << colorBits); i++) {
+            int rgb = i < colors ? PALETTE[i] : 0;
+            out.put(rgb >>> 16);
+            out.put(rgb >>> 8);
+            out.put(rgb);
+        }
+
+        // Extensión NETSCAPE2.0: repetir la animación indefinidamente
+        out.put(0x21);
+        out.put(0xFF);
+        out.put(11);
+        out.put("NETSCAPE2.0".getBytes(), 0, 11);
+        out.put(3);
+        out.put(1);
+        out.putShortLE(0);
+        out.put(0);
+    }
+
+    @Override
+    protected void encodeFrame(int x, int y, int w, int h, int length) throws IOException {
+        // Extensión de control gráfico: no borrar el fotograma anterior, retardo en centésimas
+        out.put(0x21);
+        out.put(0xF9);
+        out.put(4);
+        out.put(1 << 2);
+        out.putShortLE(Math.max(1, delayMs / 10));
+        out.put(0);
+        out.put(0);
+
+        // Descriptor de imagen del rectángulo modificado
+        out.put(0x2C);
+        out.putShortLE(x);
+        out.putShortLE(y);
+        out.putShortLE(w);
+        out.putShortLE(h);
+        out.put(0);
+
+        int minCodeSize = Math.max(2, colorBits);
+        out.put(minCodeSize);
+        compress(minCodeSize, length);
+        out.put(0); // Fin de los sub-bloques de datos
+    }
+
+    /**
+     * Comprime con LZW los primeros píxeles del buffer usando una tabla hash de doble dispersión.
+     *
+     * @param minCodeSize Tamaño mínimo de código LZW
+     * @param length Número de píxeles a comprimir
+     * @throws IOException Si falla la escritura
+     */
+    private void compress(int minCodeSize, int length) throws IOException {
+        int clearCode = 1 << minCodeSize;
+        int endCode = clearCode + 1;
+        int initBits = minCodeSize + 1;
+
+        bitBuffer = 0;
+        bitCount = 0;
+        blockLength = 0;
+        codeBits = initBits;
+        maxCode = (1 << codeBits) - 1;
+        int nextCode = clearCode + 2;
+        Arrays.fill(hashCodes, -1);
+        writeCode(clearCode);
+
+        int prefix = pixels[0];
+        outer:
+        for (int p = 1; p < length; p++) {
+            int c = pixels[p];
+            int key = (c << MAX_BITS) + prefix;
+            int i = (c << HASH_SHIFT) ^ prefix;
+
+            if (hashCodes[i] == key) {
+                prefix = codeTable[i];
+                continue;
+            }
+            if (hashCodes[i] >= 0) {
+                int step = (i == 0) ? 1 : HASH_SIZE - i;
+                do {
+                    i -= step;
+                    if (i < 0) i += HASH_SIZE;
+                    if (hashCodes[i] == key) {
+                        prefix = codeTable[i];
+                        continue outer;
+                    }
+                } while (hashCodes[i] >= 0);
+            }
+
+            writeCode(prefix);
+            prefix = c;
+            if (nextCode < MAX_CODES) {
+                codeTable[i] = nextCode++;
+                hashCodes[i] = key;
+                if (nextCode - 1 > maxCode) {
+                    growCodeSize();
+                }
+            } else {
+                // Tabla llena: se reinicia el diccionario
+                Arrays.fill(hashCodes, -1);
+                writeCode(clearCode);
+                nextCode = clearCode + 2;
+                codeBits = initBits;
+                maxCode = (1 << codeBits) - 1;
+            }
+        }
+
+        writeCode(prefix);
+        // Al leer el último código el decodificador agrega una entrada más a su tabla
+        if (nextCode > maxCode) {
+            growCodeSize();
+        }
+        writeCode(endCode);
+        if (bitCount > 0) {
+            putByte(bitBuffer & 0xFF);
+        }
+        flushBlock();
+    }
+
+    /**
+     * Aumenta en un bit el tamaño de código cuando el decodificador necesitará más bits.
+     */
+    private void growCodeSize() {
+        if (codeBits < MAX_BITS) {
+            codeBits++;
+            maxCode = (1 << codeBits) - 1;
+        }
+    }
+
+    private void writeCode(int code) throws IOException {
+        bitBuffer |= code << bitCount;
+        bitCount += codeBits;
+        while (bitCount >= 8) {
+            putByte(bitBuffer & 0xFF);
+            bitBuffer >>>= 8;
+            bitCount -= 8;
+        }
+    }
+
+    private void putByte(int value) throws IOException {
+        block[blockLength++] = (byte) value;
+        if (blockLength == block.length) {
+            flushBlock();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockLength > 0) {
+            out.put(blockLength);
+            out.put(block, 0, blockLength);
+            blockLength = 0;
+        }
+    }
+
+    @Override
+    protected void closeOutput() throws IOException {
+        try {
+            out.put(0x3B); // Fin del archivo
+        } finally {
+            out.close();
+        }
+    }
+
+    @Override
+    protected void discardOutput() throws IOException {
+        try {
+            out.close();
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
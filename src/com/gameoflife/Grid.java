@@ -5,12 +5,14 @@ import java.io.IOException;
 /**
  * Clase que representa la cuadrícula del Juego de la Vida.
  * Esta clase contiene la lógica para inicializar, actualizar y mostrar la cuadrícula,
- * así como para aplicar las reglas de Conway que determinan la evolución de las células.
+ * así como para aplicar la regla ({@link CellRule}) que determina la evolución de las células.
+ * Los estados se guardan empaquetados ({@link PackedCells}) con 1, 2 o 4 bits por célula.
  */
 public class Grid {
     // Símbolos para representar el estado de las células
     private static final String ALIVE = "\u001B[42m \uD83C\uDF1E \u001B[0m"; // Fondo verde para célula viva
     private static final String DEAD = "\u001B[41m \uD83D\uDC80 \u001B[0m";  // Fondo rojo para célula muerta
+    private static final String[] OTHER_STATES = otherStateSymbols();              // Estados 2 en adelante
 
     // Códigos de color ANSI para mejorar la visualización en la consola
     private static final String RESET = Colors.RESET;
@@ -25,7 +27,17 @@ public class Grid {
     private final int generations;
     private final int speed;
     private final int neighborhood;
-    private String[][] grid;
+    private final CellRule rule;
+
+    // Estados de la generación actual y buffer para la siguiente, indexados por fila * ancho + columna
+    private PackedCells cells;
+    private PackedCells nextCells;
+
+    // Desplazamientos del vecindario, calculados una sola vez
+    private final int[][] directions;
+
+    // Exportador opcional de la animación (null si no se exporta)
+    private AnimationExporter exporter;
 
     /**
      * Constructor de la cuadrícula.
@@ -40,15 +52,35 @@ public class Grid {
      * @param speed Velocidad de simulación en milisegundos entre generaciones.
      */
     public Grid(int width, int height, String population, int neighborhood, int generations, int speed) {
+        this(width, height, population, neighborhood, generations, speed, CellRule.parse("conway"));
+    }
+
+    /**
+     * Constructor de la cuadrícula con una regla de evolución específica.
+     *
+     * @param width Ancho de la cuadrícula (número de columnas).
+     * @param height Alto de la cuadrícula (número de filas).
+     * @param population Población inicial. Puede ser "rnd" para una población aleatoria
+     *                   o un patrón específico en formato de cadena.
+     * @param neighborhood Tipo de vecindario (1-5) para contar células vecinas.
+     * @param generations Número de generaciones a simular. Si es 0, la simulación es infinita.
+     * @param speed Velocidad de simulación en milisegundos entre generaciones.
+     * @param rule Regla de evolución (Conway, Generations o Wireworld).
+     */
+    public Grid(int width, int height, String population, int neighborhood, int generations, int speed,
+                CellRule rule) {
         // Asigna los valores de los parámetros a las variables de la clase.
         this.width = width;
         this.height = height;
         this.generations = generations;
         this.speed = speed;
         this.neighborhood = neighborhood;
+        this.rule = rule;
+        this.directions = getNeighborhoodDirections();
 
-        // Inicializa la matriz de la cuadrícula con las dimensiones especificadas.
-        this.grid = new String[height][width];
+        // Inicializa los arreglos empaquetados con las dimensiones especificadas.
+        this.cells = new PackedCells(width * height, rule.getBitsPerCell());
+        this.nextCells = new PackedCells(width * height, rule.getBitsPerCell());
 
         // Llama al método para inicializar la cuadrícula con la población especificada.
         initializeGrid(population);
@@ -75,15 +107,10 @@ public class Grid {
     }
 
     /**
-     * Llena toda la cuadrícula con células muertas.
-     * Este método recorre cada celda de la cuadrícula y la establece como muerta (DEAD).
+     * Llena toda la cuadrícula con células muertas (estado 0).
      */
     private void fillGridWithDeadCells() {
-        for (int i = 0; i < height; i++) {
-            for (int j = 0; j < width; j++) {
-                grid[i][j] = DEAD;
-            }
-        }
+        cells.clear();
     }
 
     /**
@@ -99,7 +126,7 @@ public class Grid {
             for (int j = 0; j < width; j++) {
                 // Usa Random para decidir si la célula estará viva o muerta.
                 // nextBoolean() devuelve true o false de forma aleatoria.
-                grid[i][j] = random.nextBoolean() ? ALIVE : DEAD;
+                cells.set(i * width + j, random.nextBoolean() ? 1 : 0);
             }
         }
     }
@@ -109,6 +136,7 @@ public class Grid {
      * Este método toma una cadena que representa el patrón de población inicial y lo aplica
      * a la cuadrícula. El patrón debe estar en formato de cadena, donde cada fila está separada
      * por el carácter '#' y cada celda está representada por '1' (viva) o '0' (muerta).
+     * En reglas con más estados cada celda puede ser un dígito hexadecimal (0-f) con el estado.
      *
      * @param population Cadena que representa el patrón de población inicial.
      */
@@ -121,11 +149,29 @@ public class Grid {
             String row = rows[i].trim();
 
             for (int j = 0; j < row.length() && j < width; j++) {
-                grid[i][j] = (row.charAt(j) == '1') ? ALIVE : DEAD;
+                int state = Character.digit(row.charAt(j), 16);
+                cells.set(i * width + j, (state > 0 && state < rule.getStates()) ? state : 0);
             }
         }
     }
 
+    /**
+     * Genera un símbolo para cada estado a partir del 2: el dígito hexadecimal del estado
+     * sobre un fondo que alterna entre amarillo, azul, morado y cian. Ocupa el mismo ancho
+     * que los emojis de las células vivas y muertas para que las columnas no se desalineen.
+     *
+     * @return Símbolos indexados por estado - 2
+     */
+    private static String[] otherStateSymbols() {
+        String[] backgrounds = {"\u001B[43m", "\u001B[44m", "\u001B[45m", "\u001B[46m"};
+        String[] symbols = new String[CellRule.MAX_STATES - 2];
+        for (int state = 2; state < CellRule.MAX_STATES; state++) {
+            symbols[state - 2] = backgrounds[(state - 2) % backgrounds.length]
+                    + "  " + Character.toUpperCase(Character.forDigit(state, 16)) + " \u001B[0m";
+        }
+        return symbols;
+    }
+
     /**
      * Imprime la cuadrícula en la consola con un formato mejorado, incluyendo un borde
      * y colores para resaltar las células vivas y muertas. Además, muestra el título
@@ -136,20 +182,25 @@ public class Grid {
     public void printGrid(int generation) {
         printGenerationTitle(generation);
         int aliveCount = 0;
+        int otherCount = 0;
 
         for (int i = 0; i < height; i++) {
             for (int j = 0; j < width; j++) {
-                if (grid[i][j].equals(ALIVE)) {
-                    System.out.print(GREEN + grid[i][j] + RESET);
+                int state = cells.get(i * width + j);
+                if (state == 1) {
+                    System.out.print(GREEN + ALIVE + RESET);
                     aliveCount++;
+                } else if (state == 0) {
+                    System.out.print(DEAD);
                 } else {
-                    System.out.print(grid[i][j]);
+                    System.out.print(OTHER_STATES[state - 2]);
+                    otherCount++;
                 }
                 System.out.print(" ");
             }
             System.out.println();
         }
-        printPopulationStatistics(aliveCount);
+        printPopulationStatistics(aliveCount, otherCount);
     }
 
     /**
@@ -172,76 +223,50 @@ public class Grid {
      * en la generación actual. Este método calcula el número de células muertas restando
      * el número de células vivas (aliveCount) del total de células en la cuadrícula (width * height).
      *
-     * @param aliveCount Número de células vivas en la generación actual.
+     * En reglas con más de dos estados también se muestra cuántas células están en los demás estados.
+     *
+     * @param aliveCount Número de células vivas (estado 1) en la generación actual.
+     * @param otherCount Número de células en estados distintos de 0 y 1.
      */
-    private void printPopulationStatistics(int aliveCount) {
-        int deadCount = (width * height) - aliveCount;
+    private void printPopulationStatistics(int aliveCount, int otherCount) {
+        int deadCount = (width * height) - aliveCount - otherCount;
+        String others = rule.getStates() > 2 ? " | " + YELLOW + "Otros Estados: " + otherCount + RESET : "";
         System.out.println(
-                GREEN + "Células Vivas: " + aliveCount + RESET + " | " + RED + "Células Muertas: " + deadCount + RESET);
+                GREEN + "Células Vivas: " + aliveCount + RESET + " | " + RED + "Células Muertas: " + deadCount + RESET + others);
     }
 
     /**
-     * Calcula la siguiente generación de células en la cuadrícula aplicando las reglas de Conway.
-     * Este método crea una nueva cuadrícula (newGrid) y, para cada célula, determina su estado
-     * en la siguiente generación basándose en su estado actual y el número de vecinos vivos.
-     * Finalmente, la cuadrícula actual (grid) se actualiza con la nueva generación.
+     * Calcula la siguiente generación de células en la cuadrícula aplicando la regla configurada.
+     * Para cada célula se busca en la tabla de transiciones el estado que le corresponde según su
+     * estado actual y el número de vecinos vivos, y se escribe en el buffer de la siguiente generación.
+     * Al final se intercambian los buffers, por lo que no se reserva memoria en cada generación.
      */
     private void nextGeneration() {
-        // Crea una nueva cuadrícula (newGrid) con las mismas dimensiones que la cuadrícula actual.
-        String[][] newGrid = new String[height][width];
-
         // Recorre cada célula de la cuadrícula actual.
         for (int i = 0; i < height; i++) {
             for (int j = 0; j < width; j++) {
                 int neighbors = countLiveNeighbors(i, j);
-                boolean isAlive = grid[i][j].equals(ALIVE);
-                newGrid[i][j] = determineCellState(isAlive, neighbors);
+                int index = i * width + j;
+                nextCells.set(index, determineCellState(cells.get(index), neighbors));
             }
         }
-        // Actualiza la cuadrícula actual (grid) con la nueva generación (newGrid).
-        grid = newGrid;
+        // Intercambia la generación actual con la nueva.
+        PackedCells swap = cells;
+        cells = nextCells;
+        nextCells = swap;
     }
 
     /**
      * Determina el estado de una célula en la siguiente generación basándose en su estado actual
-     * y el número de vecinos vivos. Este método aplica las reglas del Juego de la Vida:
-     * 1. Subpoblación, 2. Supervivencia, 3. Sobrepoblación y 4. Reproducción.
+     * y el número de vecinos vivos. Con la regla de Conway (B3/S23) se aplican las reglas del
+     * Juego de la Vida: 1. Subpoblación, 2. Supervivencia, 3. Sobrepoblación y 4. Reproducción.
      *
-     * @param isAlive Indica si la célula está viva en la generación actual (true) o muerta (false).
+     * @param state Estado actual de la célula (0 = muerta, 1 = viva, 2 o más según la regla).
      * @param neighbors Número de vecinos vivos de la célula.
-     * @return El estado de la célula en la siguiente generación: ALIVE (viva) o DEAD (muerta).
+     * @return El estado de la célula en la siguiente generación.
      */
-    private String determineCellState(boolean isAlive, int neighbors) {
-        // Verifica si la célula está viva en la generación actual.
-        if (isAlive) {
-            // Regla 1: Subpoblación
-            // Si una célula viva tiene menos de 2 vecinos vivos, muere por falta de apoyo.
-            if (neighbors < 2) {
-                return DEAD; // La célula muere por subpoblación.
-            }
-            // Regla 2: Supervivencia
-            // Si una célula viva tiene 2 o 3 vecinos vivos, sobrevive a la siguiente generación.
-            else if (neighbors <= 3) {
-                return ALIVE; // La célula sobrevive.
-            }
-            // Regla 3: Sobrepoblación
-            // Si una célula viva tiene más de 3 vecinos vivos, muere por sobrepoblación.
-            else {
-                return DEAD; // La célula muere por sobrepoblación.
-            }
-        }
-        // Si la célula está muerta en la generación actual.
-        else {
-            // Regla 4: Reproducción
-            // Si una célula muerta tiene exactamente 3 vecinos vivos, cobra vida por reproducción.
-            if (neighbors == 3) {
-                return ALIVE; // La célula cobra vida.
-            }
-            // Si no se cumple la Regla 4, la célula sigue muerta.
-            else {
-                return DEAD; // La célula sigue muerta.
-            }
-        }
+    private int determineCellState(int state, int neighbors) {
+        return rule.next(state, neighbors);
     }
 
     /**
@@ -257,8 +282,6 @@ public class Grid {
         // Contador para almacenar el número de vecinos vivos.
         int count = 0;
 
-        int[][] directions = getNeighborhoodDirections();
-
         for (int[] dir : directions) {
             // Calcula la nueva posición (newRow, newCol) sumando la dirección actual a la posición (row, col).
             int newRow = row + dir[0]; // Nueva fila.
@@ -267,7 +290,7 @@ public class Grid {
             // Verifica si la nueva posición está dentro de los límites de la cuadrícula.
             if (isWithinBounds(newRow, newCol)) {
                 // Si la célula en la nueva posición está viva, incrementa el contador.
-                if (grid[newRow][newCol].equals(ALIVE)) {
+                if (cells.get(newRow * width + newCol) == 1) {
                     count++;
                 }
             }
@@ -284,6 +307,18 @@ public class Grid {
      *         que indica la posición relativa de un vecino.
      */
     private int[][] getNeighborhoodDirections() {
+        return neighborhoodDirections(neighborhood);
+    }
+
+    /**
+     * Devuelve las direcciones de un tipo de vecindario (1-5).
+     * Se comparte con los trabajadores de la simulación distribuida para que ambos
+     * modos apliquen exactamente el mismo vecindario.
+     *
+     * @param neighborhood Tipo de vecindario (1-5).
+     * @return Matriz de direcciones del vecindario, donde cada fila es un par {fila, columna}.
+     */
+    static int[][] neighborhoodDirections(int neighborhood) {
         // {-1, -1} => Diagonal superior izquierda.
         // {-1, 0} => Arriba.
         // {-1, 1} => Diagonal superior derecha.
@@ -344,6 +379,7 @@ public class Grid {
             }
 
             printGrid(generation);
+            exportFrame();
 
             if (generations == 0 && isSpacePressed()) {
                 System.out.println(YELLOW + "\nSimulación detenida por el usuario." + RESET);
@@ -364,6 +400,41 @@ public class Grid {
         }
     }
 
+    // Getters para el análisis del estado de la cuadrícula
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int getState(int row, int col) { return cells.get(row * width + col); }
+
+    /**
+     * Asigna el exportador que recibirá un fotograma por cada generación simulada.
+     *
+     * @param exporter Exportador de la animación, o null para no exportar.
+     */
+    public void setExporter(AnimationExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    /**
+     * Envía la generación actual al exportador, si hay uno asignado.
+     * Si la escritura falla se muestra el error y se deja de exportar sin detener la simulación.
+     */
+    private void exportFrame() {
+        if (exporter == null) {
+            return;
+        }
+        try {
+            for (int i = 0; i < height; i++) {
+                for (int j = 0; j < width; j++) {
+                    exporter.setCell(i, j, cells.get(i * width + j));
+                }
+            }
+            exporter.writeFrame();
+        } catch (IOException e) {
+            System.out.println(RED + "Error al exportar la animación: " + e.getMessage() + RESET);
+            exporter = null;
+        }
+    }
+
     /**
      * Verifica si el usuario ha presionado la tecla ESPACIO para detener la simulación.
      * Este método revisa si hay entrada disponible en la consola y, si la hay, verifica
@@ -371,7 +442,7 @@ public class Grid {
      *
      * @return true si se presionó la tecla ESPACIO, false en caso contrario.
      */
-    private boolean isSpacePressed() {
+    static boolean isSpacePressed() {
         try {
             // Verifica si hay datos disponibles en la entrada estándar (System.in).
             if (System.in.available() > 0) {
@@ -0,0 +1,340 @@
+package com.gameoflife;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Proceso trabajador de la simulación distribuida.
+ * Cada trabajador es dueño de una franja horizontal de filas del tablero y, en cada generación,
+ * intercambia con sus vecinos de arriba y de abajo una fila frontera (halo) a través de
+ * {@link SocketChannel}. El coordinador ({@link DistributedSimulation}) lo lanza con
+ * los argumentos {@code <puertoCoordinador> <índice>}.
+ *
+ * <p>La franja se guarda empaquetada ({@link PackedCells}, 1, 2 o 4 bits por célula) con cada
+ * fila alineada a palabras de 64 bits, de modo que los halos y las instantáneas viajan por la
+ * red como palabras empaquetadas. Para calcular una generación solo se desempaquetan tres filas
+ * a la vez.
+ */
+public class GridWorker {
+    // Enlaces de red
+    private final SocketChannel coordinator;
+    private SocketChannel up;   // Trabajador que posee las filas superiores (null si es el primero)
+    private SocketChannel down; // Trabajador que posee las filas inferiores (null si es el último)
+    private final ByteBuffer scratch = ByteBuffer.allocate(Long.BYTES);
+
+    // Franja de células: la fila 0 y la fila rows + 1 son los halos recibidos de los vecinos.
+    // Cada fila ocupa "stride" células (el ancho redondeado a palabras completas).
+    private int width;
+    private int rows;
+    private int stride;
+    private PackedCells cells;
+    private PackedCells next;
+    private ByteBuffer rowWords; // Una fila empaquetada para enviarla o recibirla
+
+    // Ventana en anillo con tres filas desempaquetadas (la fila r ocupa el hueco r % 3), cada una
+    // con una célula muerta a cada lado para no comprobar los bordes, y la fila calculada
+    private byte[] window;
+    private byte[] rowOut;
+
+    // Desplazamientos del vecindario y tabla de transiciones indexada por estado * 9 + vecinos
+    private int[] rowDeltas;
+    private int[] colDeltas;
+    private int[] neighborBase; // Posición en la ventana del vecino k de la columna 0 de la fila actual
+    private byte[] rule;
+    private int states;
+
+    // 1 para el estado que cuenta como vecino vivo (estado 1), 0 para los demás
+    private final byte[] live = new byte[CellRule.MAX_STATES];
+    // 1 para los estados distintos de muerta y viva (estados 2 en adelante), 0 para los demás
+    private final byte[] other = new byte[CellRule.MAX_STATES];
+
+    // Células en estados 2 en adelante tras el último paso o conteo
+    private long otherCount;
+
+    public static void main(String[] args) {
+        int coordinatorPort = Integer.parseInt(args[0]);
+        int index = Integer.parseInt(args[1]);
+
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress("127.0.0.1", 0));
+            SocketChannel coordinator = SocketChannel.open(new InetSocketAddress("127.0.0.1", coordinatorPort));
+            GridWorker worker = new GridWorker(coordinator);
+            worker.handshake(server, index);
+            worker.serve();
+        } catch (IOException e) {
+            System.err.println("Trabajador " + index + ": error de comunicación: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private GridWorker(SocketChannel coordinator) {
+        this.coordinator = coordinator;
+    }
+
+    /**
+     * Se presenta ante el coordinador, recibe la configuración de su franja
+     * y establece los enlaces con los trabajadores vecinos.
+     *
+     * @param server Canal en el que este trabajador acepta al vecino de abajo
+     * @param index Índice de este trabajador
+     * @throws IOException Si falla alguna conexión
+     */
+    private void handshake(ServerSocketChannel server, int index) throws IOException {
+        ChannelIO.writeInt(coordinator, scratch, index);
+        ChannelIO.writeInt(coordinator, scratch, ((InetSocketAddress) server.getLocalAddress()).getPort());
+
+        width = ChannelIO.readInt(coordinator, scratch);
+        int rowStart = ChannelIO.readInt(coordinator, scratch);
+        rows = ChannelIO.readInt(coordinator, scratch);
+        int neighborhood = ChannelIO.readInt(coordinator, scratch);
+        long seed = ChannelIO.readLong(coordinator, scratch);
+        int upPort = ChannelIO.readInt(coordinator, scratch);
+        boolean hasDown = ChannelIO.readInt(coordinator, scratch) != 0;
+        byte[] pattern = new byte[ChannelIO.readInt(coordinator, scratch)];
+        ChannelIO.readBytes(coordinator, pattern, 0, pattern.length);
+        byte[] ruleName = new byte[ChannelIO.readInt(coordinator, scratch)];
+        ChannelIO.readBytes(coordinator, ruleName, 0, ruleName.length);
+
+        CellRule cellRule = CellRule.parse(new String(ruleName, StandardCharsets.UTF_8));
+        int cellsPerWord = PackedCells.cellsPerWord(cellRule.getBitsPerCell());
+        int wordsPerRow = (width + cellsPerWord - 1) / cellsPerWord;
+        stride = wordsPerRow * cellsPerWord;
+        cells = new PackedCells((rows + 2) * stride, cellRule.getBitsPerCell());
+        next = new PackedCells((rows + 2) * stride, cellRule.getBitsPerCell());
+        rowWords = ByteBuffer.allocate(wordsPerRow * Long.BYTES);
+        window = new byte[3 * (width + 2)];
+        rowOut = new byte[width];
+        initializeRules(neighborhood, cellRule);
+        initializeStripe(new String(pattern, StandardCharsets.UTF_8), rowStart, seed);
+
+        // Conectar primero hacia arriba y luego aceptar al de abajo: la conexión queda en la cola
+        // del ServerSocketChannel del vecino aunque este todavía no haya llamado a accept().
+        if (upPort >= 0) {
+            up = SocketChannel.open(new InetSocketAddress("127.0.0.1", upPort));
+        }
+        if (hasDown) {
+            down = server.accept();
+        }
+    }
+
+    /**
+     * Prepara los desplazamientos del vecindario y la tabla de transiciones de la regla.
+     *
+     * @param neighborhood Tipo de vecindario (1-5)
+     * @param cellRule Regla de evolución
+     */
+    private void initializeRules(int neighborhood, CellRule cellRule) {
+        int[][] directions = Grid.neighborhoodDirections(neighborhood);
+        rowDeltas = new int[directions.length];
+        colDeltas = new int[directions.length];
+        neighborBase = new int[directions.length];
+        for (int k = 0; k < directions.length; k++) {
+            rowDeltas[k] = directions[k][0];
+            colDeltas[k] = directions[k][1];
+        }
+
+        rule = cellRule.transitionTable();
+        states = cellRule.getStates();
+        live[1] = 1;
+        for (int s = 2; s < CellRule.MAX_STATES; s++) {
+            other[s] = 1;
+        }
+    }
+
+    /**
+     * Llena la franja con el patrón indicado (filas separadas por '#', un dígito hexadecimal
+     * por célula) o al azar si es "rnd".
+     *
+     * @param population Población inicial del tablero completo
+     * @param rowStart Primera fila global de esta franja
+     * @param seed Semilla común de la simulación
+     */
+    private void initializeStripe(String population, int rowStart, long seed) {
+        if ("rnd".equals(population)) {
+            Random random = new Random(seed + rowStart);
+            for (int i = 1; i <= rows; i++) {
+                for (int j = 0; j < width; j++) {
+                    cells.set(i * stride + j, random.nextBoolean() ? 1 : 0);
+                }
+            }
+            return;
+        }
+
+        String[] patternRows = population.split("#");
+        for (int i = 0; i < rows && rowStart + i < patternRows.length; i++) {
+            String row = patternRows[rowStart + i].trim();
+            for (int j = 0; j < row.length() && j < width; j++) {
+                int state = Character.digit(row.charAt(j), 16);
+                cells.set((i + 1) * stride + j, (state > 0 && state < states) ? state : 0);
+            }
+        }
+    }
+
+    /**
+     * Atiende las órdenes del coordinador hasta recibir la orden de detenerse.
+     *
+     * @throws IOException Si falla alguna conexión
+     */
+    private void serve() throws IOException {
+        while (true) {
+            int command = ChannelIO.readInt(coordinator, scratch);
+            if (command == DistributedSimulation.CMD_STOP) {
+                break;
+            }
+
+            long population;
+            if ((command & DistributedSimulation.CMD_STEP) != 0) {
+                exchangeHalos();
+                population = step();
+            } else {
+                population = countPopulation();
+            }
+            ChannelIO.writeLong(coordinator, scratch, population);
+            ChannelIO.writeLong(coordinator, scratch, otherCount);
+
+            if ((command & DistributedSimulation.CMD_SNAPSHOT) != 0) {
+                for (int i = 1; i <= rows; i++) {
+                    sendRow(coordinator, i);
+                }
+            }
+        }
+        closeQuietly(up);
+        closeQuietly(down);
+        closeQuietly(coordinator);
+    }
+
+    /**
+     * Intercambia las filas frontera con los vecinos en dos fases. Primero cada franja envía
+     * su última fila hacia abajo y después su primera fila hacia arriba. Como la cadena de
+     * trabajadores no es circular, el extremo sin vecino siempre lee primero y las escrituras
+     * bloqueantes no pueden formar un ciclo de espera.
+     *
+     * @throws IOException Si falla alguna conexión
+     */
+    private void exchangeHalos() throws IOException {
+        if (down != null) {
+            sendRow(down, rows);
+        }
+        if (up != null) {
+            receiveRow(up, 0);
+        }
+
+        if (up != null) {
+            sendRow(up, 1);
+        }
+        if (down != null) {
+            receiveRow(down, rows + 1);
+        }
+    }
+
+    /**
+     * Envía una fila de la franja tal como está empaquetada.
+     *
+     * @param channel Canal de destino
+     * @param row Fila de la franja (0 y rows + 1 son los halos)
+     * @throws IOException Si falla la conexión
+     */
+    private void sendRow(SocketChannel channel, int row) throws IOException {
+        rowWords.clear();
+        cells.getWords(row * stride, rowWords);
+        ChannelIO.writeFully(channel, rowWords);
+    }
+
+    /**
+     * Recibe una fila empaquetada y la guarda en la franja.
+     *
+     * @param channel Canal de origen
+     * @param row Fila de la franja (0 y rows + 1 son los halos)
+     * @throws IOException Si falla la conexión
+     */
+    private void receiveRow(SocketChannel channel, int row) throws IOException {
+        rowWords.clear();
+        ChannelIO.readFully(channel, rowWords);
+        rowWords.flip();
+        cells.setWords(row * stride, rowWords);
+    }
+
+    /**
+     * Calcula la siguiente generación de la franja sin reservar memoria e intercambia los buffers.
+     * Cada fila se calcula sobre la ventana de tres filas desempaquetadas y se vuelve a empaquetar
+     * en el buffer de destino. Las filas halo del buffer de destino no se tocan, por lo que en los
+     * bordes del tablero permanecen como células muertas. Las células en estados 2 en adelante
+     * quedan en {@link #otherCount}.
+     *
+     * @return Número de células vivas (estado 1) de la franja en la nueva generación
+     */
+    private long step() {
+        int span = width + 2;
+        long population = 0;
+        long others = 0;
+        unpackRow(0);
+        unpackRow(1);
+        for (int i = 1; i <= rows; i++) {
+            unpackRow(i + 1);
+            for (int k = 0; k < neighborBase.length; k++) {
+                neighborBase[k] = ((i + rowDeltas[k]) % 3) * span + 1 + colDeltas[k];
+            }
+            int center = (i % 3) * span + 1;
+
+            for (int j = 0; j < width; j++) {
+                int neighbors = 0;
+                for (int k = 0; k < neighborBase.length; k++) {
+                    neighbors += live[window[neighborBase[k] + j]];
+                }
+                byte state = rule[window[center + j] * (CellRule.MAX_NEIGHBORS + 1) + neighbors];
+                rowOut[j] = state;
+                population += live[state];
+                others += other[state];
+            }
+            next.setRange(i * stride, rowOut, 0, width);
+        }
+        PackedCells swap = cells;
+        cells = next;
+        next = swap;
+        otherCount = others;
+        return population;
+    }
+
+    /**
+     * Desempaqueta una fila de la franja en su hueco de la ventana.
+     *
+     * @param row Fila de la franja (0 a rows + 1)
+     */
+    private void unpackRow(int row) {
+        cells.getRange(row * stride, window, (row % 3) * (width + 2) + 1, width);
+    }
+
+    /**
+     * Cuenta las células vivas (estado 1) de la franja sin avanzar la simulación.
+     * Las células en estados 2 en adelante quedan en {@link #otherCount}.
+     *
+     * @return Número de células vivas
+     */
+    private long countPopulation() {
+        long population = 0;
+        long others = 0;
+        for (int i = 1; i <= rows; i++) {
+            cells.getRange(i * stride, rowOut, 0, width);
+            for (int j = 0; j < width; j++) {
+                population += live[rowOut[j]];
+                others += other[rowOut[j]];
+            }
+        }
+        otherCount = others;
+        return population;
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // El proceso termina de todas formas
+        }
+    }
+}
@@ -6,6 +6,8 @@ import java.io.IOException;
 
 /**
  * Clase que maneja la reproducción de sonidos en el juego.
+ * El sistema de audio (javax.sound) solo se inicializa la primera vez que se reproduce
+ * un sonido, así que con el sonido desactivado no se carga en absoluto.
  */
 public class MusicPlayer {
 
@@ -14,10 +16,22 @@ public class MusicPlayer {
     private static final String GENERATION_SOUND = "resources/soundtrack2.wav"; // Sonido de generación
     private static final String END_SOUND = "resources/soundtrack3.wav"; // Sonido de finalización
 
+    // Si es false, ningún método reproduce sonido ni toca javax.sound
+    private static volatile boolean enabled = true;
+
+    /**
+     * Desactiva todos los sonidos. Se usa en el modo rápido para que el arranque y
+     * la finalización no esperen a que termine cada pista.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
     /**
      * Reproduce el sonido de inicio.
      */
     public static void playStartSound() {
+        if (!enabled) return;
         playSound(START_SOUND, false); // No en bucle
     }
 
@@ -25,6 +39,7 @@ public class MusicPlayer {
      * Reproduce el sonido al generar una nueva generación.
      */
     public static void playGenerationSound() {
+        if (!enabled) return;
         new Thread(() -> playSound(GENERATION_SOUND, false)).start();
     }
 
@@ -32,6 +47,7 @@ public class MusicPlayer {
      * Reproduce el sonido de finalización.
      */
     public static void playEndSound() {
+        if (!enabled) return;
         playSound(END_SOUND, false); // No en bucle
     }
 
@@ -0,0 +1,147 @@
+package com.gameoflife;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Arreglo compacto de estados de células con 1, 2 o 4 bits por célula guardados en palabras
+ * de 64 bits. Con 2 bits caben 32 células por palabra, suficiente para reglas de hasta 4
+ * estados (Brian's Brain, Star Wars, Wireworld); con 4 bits se admiten hasta 16 estados.
+ * Los tramos que empiezan al inicio de una palabra pueden copiarse palabra a palabra, lo que
+ * permite enviar filas alineadas por la red sin desempaquetarlas.
+ */
+final class PackedCells {
+    private final long[] words;
+    private final int bits;
+    private final int mask;
+    private final int cellsPerWordShift; // log2 de células por palabra
+    private final int cellsPerWordMask;
+
+    /**
+     * Crea un arreglo con todas las células en estado 0.
+     *
+     * @param size Número de células
+     * @param bits Bits por célula (1, 2 o 4)
+     */
+    PackedCells(int size, int bits) {
+        if (bits != 1 && bits != 2 && bits != 4) {
+            throw new IllegalArgumentException("Bits por célula no soportados: " + bits);
+        }
+        this.bits = bits;
+        this.mask = (1 << bits) - 1;
+        this.cellsPerWordShift = Integer.numberOfTrailingZeros(64 / bits);
+        this.cellsPerWordMask = (64 / bits) - 1;
+        this.words = new long[(int) (((long) size * bits + 63) / 64)];
+    }
+
+    /**
+     * Devuelve el estado de una célula.
+     *
+     * @param index Índice de la célula (fila * ancho + columna)
+     * @return Estado de la célula
+     */
+    int get(int index) {
+        int shift = (index & cellsPerWordMask) * bits;
+        return (int) (words[index >>> cellsPerWordShift] >>> shift) & mask;
+    }
+
+    /**
+     * Cambia el estado de una célula.
+     *
+     * @param index Índice de la célula (fila * ancho + columna)
+     * @param state Nuevo estado
+     */
+    void set(int index, int state) {
+        int w = index >>> cellsPerWordShift;
+        int shift = (index & cellsPerWordMask) * bits;
+        words[w] = (words[w] & ~((long) mask << shift)) | ((long) state << shift);
+    }
+
+    /**
+     * Desempaqueta un tramo de células consecutivas en un arreglo con un estado por byte.
+     *
+     * @param index Índice de la primera célula
+     * @param dest Arreglo de destino
+     * @param offset Posición del primer estado dentro del destino
+     * @param count Número de células
+     */
+    void getRange(int index, byte[] dest, int offset, int count) {
+        int w = index >>> cellsPerWordShift;
+        int pos = index & cellsPerWordMask;
+        long word = words[w] >>> (pos * bits);
+        for (int c = 0; c < count; c++) {
+            if (pos > cellsPerWordMask) {
+                word = words[++w];
+                pos = 0;
+            }
+            dest[offset + c] = (byte) (word & mask);
+            word >>>= bits;
+            pos++;
+        }
+    }
+
+    /**
+     * Empaqueta un tramo de células consecutivas a partir de un arreglo con un estado por byte.
+     * Las células vecinas al tramo que comparten palabra con él no se modifican.
+     *
+     * @param index Índice de la primera célula
+     * @param src Arreglo de origen
+     * @param offset Posición del primer estado dentro del origen
+     * @param count Número de células
+     */
+    void setRange(int index, byte[] src, int offset, int count) {
+        int w = index >>> cellsPerWordShift;
+        int pos = index & cellsPerWordMask;
+        int c = 0;
+        while (c < count) {
+            int n = Math.min(cellsPerWordMask + 1 - pos, count - c);
+            long value = 0;
+            for (int k = 0; k < n; k++) {
+                value |= (long) (src[offset + c + k] & mask) << ((pos + k) * bits);
+            }
+            long field = (n * bits == 64) ? -1L : ((1L << (n * bits)) - 1) << (pos * bits);
+            words[w] = (words[w] & ~field) | value;
+            c += n;
+            w++;
+            pos = 0;
+        }
+    }
+
+    /**
+     * Copia palabras completas al espacio restante del buffer (8 bytes por palabra, big-endian),
+     * sin mover su posición.
+     *
+     * @param index Índice de una célula que empieza palabra
+     * @param buffer Buffer de destino; su espacio restante debe ser múltiplo de 8
+     */
+    void getWords(int index, ByteBuffer buffer) {
+        buffer.asLongBuffer().put(words, index >>> cellsPerWordShift, buffer.remaining() / Long.BYTES);
+    }
+
+    /**
+     * Copia palabras completas desde el contenido restante del buffer, sin mover su posición.
+     *
+     * @param index Índice de una célula que empieza palabra
+     * @param buffer Buffer de origen; su contenido restante debe ser múltiplo de 8
+     */
+    void setWords(int index, ByteBuffer buffer) {
+        buffer.asLongBuffer().get(words, index >>> cellsPerWordShift, buffer.remaining() / Long.BYTES);
+    }
+
+    /**
+     * Número de células que caben en una palabra de 64 bits.
+     *
+     * @param bits Bits por célula (1, 2 o 4)
+     * @return Células por palabra
+     */
+    static int cellsPerWord(int bits) {
+        return 64 / bits;
+    }
+
+    /**
+     * Pone todas las células en estado 0.
+     */
+    void clear() {
+        Arrays.fill(words, 0L);
+    }
+}
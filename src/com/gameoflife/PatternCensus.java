@@ -0,0 +1,552 @@
+package com.gameoflife;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Censo de objetos sobre el estado final de una cuadrícula con la regla de Conway.
+ * Separa las células vivas en grupos conexos (vecindario de Moore) con union-find sobre un
+ * arreglo de enteros, lleva cada grupo a una forma canónica independiente de rotaciones
+ * y reflexiones, y la busca en una tabla hash de objetos conocidos (vidas estáticas, osciladores
+ * y naves). Los conteos se acumulan entre llamadas a {@link #analyze(Grid)}.
+ *
+ * <p>Algunas fases de objetos conocidos no son conexas (la nave ligera, la fase abierta del faro
+ * o del sapo...). Por eso, en una segunda pasada, los grupos separados por una sola célula muerta
+ * se unen, de dos en dos o de tres en tres, solo si la forma combinada es un objeto conocido; dos
+ * objetos independientes que están igual de cerca se siguen contando por separado.
+ *
+ * <p>Las formas canónicas se codifican en un {@code long}: el mapa de bits del rectángulo que
+ * contiene al objeto (hasta 56 células) más su ancho y alto. Los objetos más grandes o que no
+ * están en la tabla se cuentan como desconocidos según su número de células.
+ */
+public class PatternCensus {
+    // Códigos de color ANSI
+    private static final String RESET = Colors.RESET;
+    private static final String GREEN = Colors.GREEN;
+    private static final String CYAN = Colors.CYAN;
+    private static final String YELLOW = Colors.YELLOW;
+
+    // Límites de la codificación canónica: 56 bits de mapa, 4 bits de ancho y 4 de alto
+    private static final int MAX_AREA = 56;
+    private static final int MAX_SIDE = 15;
+
+    /**
+     * Objetos conocidos: nombre, periodo y patrón de una fase (filas separadas por '#',
+     * igual que el parámetro "p"). Al construir la tabla se registran todas sus fases.
+     */
+    private static final Object[][] KNOWN_OBJECTS = {
+            // Vidas estáticas
+            {"bloque", 1, "11#11"},
+            {"colmena", 1, "0110#1001#0110"},
+            {"pan", 1, "0110#1001#0101#0010"},
+            {"bote", 1, "110#101#010"},
+            {"barco", 1, "110#101#011"},
+            {"tina", 1, "010#101#010"},
+            {"estanque", 1, "0110#1001#1001#0110"},
+            {"barcaza", 1, "0100#1010#0101#0010"},
+            {"bote largo", 1, "0100#1010#0101#0011"},
+            {"serpiente", 1, "1011#1101"},
+            {"anzuelo", 1, "1100#1010#0010#0011"},
+            {"portaaviones", 1, "1100#1001#0011"},
+            {"mango", 1, "01100#10010#01001#00110"},
+            // Osciladores
+            {"parpadeador", 2, "111"},
+            {"sapo", 2, "0111#1110"},
+            {"faro", 2, "1100#1100#0011#0011"},
+            {"reloj", 2, "0010#1010#0101#0100"},
+            // Naves
+            {"planeador", 4, "010#001#111"},
+            {"nave ligera", 4, "01001#10000#10001#11110"},
+            {"nave mediana", 4, "000100#010001#100000#100001#111110"},
+            {"nave pesada", 4, "0001100#0100001#1000000#1000001#1111110"},
+    };
+
+    // Tabla hash de direccionamiento abierto: forma canónica -> índice en KNOWN_OBJECTS
+    private static final int TABLE_BITS = 8;
+    private static final long[] TABLE_KEYS = new long[1 << TABLE_BITS];
+    private static final int[] TABLE_IDS = new int[1 << TABLE_BITS];
+
+    static {
+        for (int id = 0; id < KNOWN_OBJECTS.length; id++) {
+            registerPhases(id, (int) KNOWN_OBJECTS[id][1], (String) KNOWN_OBJECTS[id][2]);
+        }
+    }
+
+    // Conteos del censo
+    private final long[] knownCounts = new long[KNOWN_OBJECTS.length];
+    private final Map<Integer, Long> unknownBySize = new TreeMap<>();
+    private long totalObjects;
+
+    // Arreglos de trabajo reutilizados entre análisis del mismo tamaño
+    private int[] parent = new int[0];
+    private int[] component;
+    private int[] minRow, maxRow, minCol, maxCol, cellCount, offsets, order;
+
+    // Pares de grupos cercanos (menor << 32 | mayor), sus listas de vecinos y grupos ya unidos
+    private long[] pairs = new long[64];
+    private int[] nearStart, near;
+    private boolean[] merged;
+    private final int[] members = new int[3];
+    private final int[] scratch = new int[MAX_AREA];
+
+    /**
+     * Analiza el estado actual de la cuadrícula y suma sus objetos al censo.
+     *
+     * @param grid Cuadrícula (normalmente ya estabilizada) a analizar
+     */
+    public void analyze(Grid grid) {
+        analyze(grid.getWidth(), grid.getHeight(), grid::getState);
+    }
+
+    /**
+     * Analiza un tablero cualquiera y suma sus objetos al censo. Lo usa la búsqueda de sopas
+     * ({@link SoupSearch}), que guarda sus tableros fuera de {@link Grid}.
+     *
+     * @param width Ancho del tablero
+     * @param height Alto del tablero
+     * @param states Estado de la célula en (fila, columna); solo el estado 1 cuenta como viva
+     */
+    public void analyze(int width, int height, IntBinaryOperator states) {
+        ensureCapacity(width * height);
+
+        // 1. Cada célula viva empieza como su propio conjunto y se une con sus vecinas ya visitadas
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                int index = i * width + j;
+                if (states.applyAsInt(i, j) != 1) {
+                    parent[index] = -1;
+                    continue;
+                }
+                parent[index] = index;
+                if (j > 0 && parent[index - 1] >= 0) union(index, index - 1);
+                if (i > 0) {
+                    int up = index - width;
+                    if (j > 0 && parent[up - 1] >= 0) union(index, up - 1);
+                    if (parent[up] >= 0) union(index, up);
+                    if (j < width - 1 && parent[up + 1] >= 0) union(index, up + 1);
+                }
+            }
+        }
+
+        // 2. Numerar los componentes y calcular su rectángulo y número de células
+        int components = 0;
+        for (int index = 0; index < width * height; index++) {
+            if (parent[index] < 0) continue;
+            int root = find(index);
+            if (root == index) {
+                component[index] = components;
+                minRow[components] = Integer.MAX_VALUE;
+                maxRow[components] = -1;
+                minCol[components] = Integer.MAX_VALUE;
+                maxCol[components] = -1;
+                cellCount[components] = 0;
+                components++;
+            }
+            int c = component[root];
+            int row = index / width, col = index % width;
+            minRow[c] = Math.min(minRow[c], row);
+            maxRow[c] = Math.max(maxRow[c], row);
+            minCol[c] = Math.min(minCol[c], col);
+            maxCol[c] = Math.max(maxCol[c], col);
+            cellCount[c]++;
+        }
+
+        // 3. Agrupar las células de cada componente de forma contigua (ordenamiento por conteo)
+        int sum = 0;
+        for (int c = 0; c < components; c++) {
+            offsets[c] = sum;
+            sum += cellCount[c];
+        }
+        for (int index = 0; index < width * height; index++) {
+            if (parent[index] < 0) continue;
+            int c = component[find(index)];
+            order[offsets[c]++] = index;
+        }
+        // A partir de aquí cada célula viva guarda directamente su componente
+        for (int c = 0; c < components; c++) {
+            for (int k = offsets[c] - cellCount[c]; k < offsets[c]; k++) {
+                component[order[k]] = c;
+            }
+        }
+
+        // 4. Unir los componentes cercanos que juntos forman un objeto conocido
+        mergeNearbyComponents(width, height, components);
+
+        // 5. Reconocer cada componente que no se unió a otro
+        for (int c = 0; c < components; c++) {
+            if (merged[c]) continue;
+            int end = offsets[c];
+            long key = canonicalKey(order, end - cellCount[c], end, width,
+                    minRow[c], minCol[c], maxRow[c] - minRow[c] + 1, maxCol[c] - minCol[c] + 1);
+            int id = key == 0 ? -1 : lookup(key);
+            if (id >= 0) {
+                knownCounts[id]++;
+            } else {
+                unknownBySize.merge(cellCount[c], 1L, Long::sum);
+            }
+            totalObjects++;
+        }
+    }
+
+    /**
+     * Busca los componentes separados por una sola célula muerta (distancia 2) y une los que
+     * juntos forman un objeto conocido. Cada componente cercano a otros se toma como núcleo, de
+     * mayor a menor, y se prueba con uno y con dos de sus vecinos aún libres. Los componentes
+     * unidos se cuentan aquí y quedan marcados en {@link #merged}.
+     *
+     * @param width Ancho del tablero
+     * @param height Alto del tablero
+     * @param components Número de componentes
+     */
+    private void mergeNearbyComponents(int width, int height, int components) {
+        Arrays.fill(merged, 0, components, false);
+
+        // Pares de componentes distintos con células a distancia 2 (mitad ya recorrida del 5x5)
+        int pairCount = 0;
+        for (int index = 0; index < width * height; index++) {
+            if (parent[index] < 0) continue;
+            int row = index / width, col = index % width;
+            for (int di = -2; di <= 0; di++) {
+                if (row + di < 0) continue;
+                for (int dj = -2; dj <= 2; dj++) {
+                    if (di == 0 && dj >= -1) break;
+                    if (di == -1 && dj >= -1 && dj <= 1) continue; // Vecinas de Moore: mismo componente
+                    int c = col + dj;
+                    if (c < 0 || c >= width) continue;
+                    int other = index + di * width + dj;
+                    if (parent[other] < 0 || component[other] == component[index]) continue;
+                    int a = Math.min(component[index], component[other]);
+                    int b = Math.max(component[index], component[other]);
+                    if (pairCount == pairs.length) {
+                        pairs = Arrays.copyOf(pairs, pairs.length * 2);
+                    }
+                    pairs[pairCount++] = ((long) a << 32) | b;
+                }
+            }
+        }
+        if (pairCount == 0) {
+            return;
+        }
+
+        // Eliminar pares repetidos y construir la lista de vecinos de cada componente
+        Arrays.sort(pairs, 0, pairCount);
+        int unique = 0;
+        for (int k = 0; k < pairCount; k++) {
+            if (unique == 0 || pairs[k] != pairs[unique - 1]) {
+                pairs[unique++] = pairs[k];
+            }
+        }
+        if (near.length < 2 * unique) {
+            near = new int[2 * unique];
+        }
+        Arrays.fill(nearStart, 0, components + 1, 0);
+        for (int k = 0; k < unique; k++) {
+            nearStart[(int) (pairs[k] >>> 32) + 1]++;
+            nearStart[(int) pairs[k] + 1]++;
+        }
+        for (int c = 0; c < components; c++) {
+            nearStart[c + 1] += nearStart[c];
+        }
+        // Se llena con nearStart[c] como cursor y después se desplaza una posición
+        for (int k = 0; k < unique; k++) {
+            int a = (int) (pairs[k] >>> 32), b = (int) pairs[k];
+            near[nearStart[a]++] = b;
+            near[nearStart[b]++] = a;
+        }
+        for (int c = components; c > 0; c--) {
+            nearStart[c] = nearStart[c - 1];
+        }
+        nearStart[0] = 0;
+
+        // Núcleos: componentes con vecinos cercanos, de mayor a menor número de células
+        if (pairs.length < components) {
+            pairs = new long[components];
+        }
+        int cores = 0;
+        for (int c = 0; c < components; c++) {
+            if (nearStart[c + 1] > nearStart[c]) {
+                pairs[cores++] = ((long) (Integer.MAX_VALUE - cellCount[c]) << 32) | c;
+            }
+        }
+        Arrays.sort(pairs, 0, cores);
+
+        for (int k = 0; k < cores; k++) {
+            int core = (int) pairs[k];
+            if (merged[core] || cellCount[core] >= MAX_AREA) continue;
+            members[0] = core;
+            int id = -1;
+            for (int x = nearStart[core]; x < nearStart[core + 1] && id < 0; x++) {
+                members[1] = near[x];
+                if (merged[members[1]]) continue;
+                id = lookupGroup(2, width);
+                for (int y = x + 1; y < nearStart[core + 1] && id < 0; y++) {
+                    members[2] = near[y];
+                    if (merged[members[2]]) continue;
+                    id = lookupGroup(3, width);
+                    if (id < 0) continue;
+                    merged[members[2]] = true;
+                }
+                if (id >= 0) {
+                    merged[members[1]] = true;
+                }
+            }
+            if (id >= 0) {
+                merged[core] = true;
+                knownCounts[id]++;
+                totalObjects++;
+            }
+        }
+    }
+
+    /**
+     * Busca en la tabla la forma que resulta de juntar los primeros componentes de {@link #members}.
+     *
+     * @param count Número de componentes (2 o 3)
+     * @param width Ancho del tablero
+     * @return Índice del objeto en KNOWN_OBJECTS, o -1 si la unión no es un objeto conocido
+     */
+    private int lookupGroup(int count, int width) {
+        int cells = 0, top = Integer.MAX_VALUE, left = Integer.MAX_VALUE, bottom = -1, right = -1;
+        for (int m = 0; m < count; m++) {
+            int c = members[m];
+            cells += cellCount[c];
+            top = Math.min(top, minRow[c]);
+            bottom = Math.max(bottom, maxRow[c]);
+            left = Math.min(left, minCol[c]);
+            right = Math.max(right, maxCol[c]);
+        }
+        if (cells > MAX_AREA) {
+            return -1;
+        }
+        int n = 0;
+        for (int m = 0; m < count; m++) {
+            int c = members[m];
+            for (int k = offsets[c] - cellCount[c]; k < offsets[c]; k++) {
+                scratch[n++] = order[k];
+            }
+        }
+        long key = canonicalKey(scratch, 0, n, width, top, left, bottom - top + 1, right - left + 1);
+        return key == 0 ? -1 : lookup(key);
+    }
+
+    /**
+     * Reserva los arreglos de trabajo si el tablero es más grande que el anterior.
+     *
+     * @param size Número de células del tablero
+     */
+    private void ensureCapacity(int size) {
+        if (parent.length >= size) return;
+        parent = new int[size];
+        component = new int[size];
+        order = new int[size];
+        // Dos componentes nunca son vecinos de Moore, así que hay como mucho uno por cada bloque de 2x2
+        int maxComponents = size / 2 + 1;
+        minRow = new int[maxComponents];
+        maxRow = new int[maxComponents];
+        minCol = new int[maxComponents];
+        maxCol = new int[maxComponents];
+        cellCount = new int[maxComponents];
+        offsets = new int[maxComponents];
+        nearStart = new int[maxComponents + 1];
+        near = new int[64];
+        merged = new boolean[maxComponents];
+    }
+
+    /**
+     * Busca el representante del conjunto con compresión de camino por mitades.
+     */
+    private int find(int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private void union(int a, int b) {
+        a = find(a);
+        b = find(b);
+        if (a < b) {
+            parent[b] = a;
+        } else if (b < a) {
+            parent[a] = b;
+        }
+    }
+
+    /**
+     * Calcula la forma canónica de un objeto: el menor de los códigos de sus 8 orientaciones
+     * (4 rotaciones, con y sin reflexión).
+     *
+     * @param cells Índices de las células del objeto (fila * ancho + columna)
+     * @param start Primera posición del objeto en el arreglo
+     * @param end Posición siguiente a la última
+     * @param width Ancho del tablero
+     * @param top Fila superior del rectángulo del objeto
+     * @param left Columna izquierda del rectángulo del objeto
+     * @param h Alto del rectángulo
+     * @param w Ancho del rectángulo
+     * @return El código canónico, o 0 si el objeto es demasiado grande para codificarse
+     */
+    private static long canonicalKey(int[] cells, int start, int end, int width, int top, int left, int h, int w) {
+        if (h * w > MAX_AREA || h > MAX_SIDE || w > MAX_SIDE) {
+            return 0;
+        }
+        long best = 0;
+        for (int t = 0; t < 8; t++) {
+            boolean transpose = t >= 4;
+            int outW = transpose ? h : w;
+            long bits = 0;
+            for (int k = start; k < end; k++) {
+                int r = cells[k] / width - top;
+                int c = cells[k] % width - left;
+                if ((t & 1) != 0) c = w - 1 - c;
+                if ((t & 2) != 0) r = h - 1 - r;
+                int outR = transpose ? c : r;
+                int outC = transpose ? r : c;
+                bits |= 1L << (outR * outW + outC);
+            }
+            long key = encode(bits, outW, transpose ? w : h);
+            if (best == 0 || Long.compareUnsigned(key, best) < 0) {
+                best = key;
+            }
+        }
+        return best;
+    }
+
+    private static long encode(long bits, int w, int h) {
+        return bits | ((long) w << 56) | ((long) h << 60);
+    }
+
+    private static int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - TABLE_BITS));
+    }
+
+    /**
+     * Busca una forma canónica en la tabla de objetos conocidos.
+     *
+     * @param key Forma canónica
+     * @return Índice del objeto en KNOWN_OBJECTS, o -1 si no es conocido
+     */
+    private static int lookup(long key) {
+        int mask = TABLE_KEYS.length - 1;
+        for (int i = slot(key); TABLE_KEYS[i] != 0; i = (i + 1) & mask) {
+            if (TABLE_KEYS[i] == key) {
+                return TABLE_IDS[i];
+            }
+        }
+        return -1;
+    }
+
+    private static void insert(long key, int id) {
+        int mask = TABLE_KEYS.length - 1;
+        int i = slot(key);
+        while (TABLE_KEYS[i] != 0 && TABLE_KEYS[i] != key) {
+            i = (i + 1) & mask;
+        }
+        TABLE_KEYS[i] = key;
+        TABLE_IDS[i] = id;
+    }
+
+    /**
+     * Simula un objeto aislado durante un periodo y registra la forma canónica de cada fase.
+     *
+     * @param id Índice del objeto en KNOWN_OBJECTS
+     * @param period Periodo del objeto
+     * @param pattern Patrón de una fase
+     */
+    private static void registerPhases(int id, int period, String pattern) {
+        String[] rows = pattern.split("#");
+        int margin = 2 * period + 2; // Espacio suficiente para que una nave se desplace
+        int h = rows.length + 2 * margin;
+        int w = rows[0].length() + 2 * margin;
+        CellRule conway = CellRule.parse("conway");
+        byte[] cells = new byte[h * w];
+        byte[] next = new byte[h * w];
+        for (int i = 0; i < rows.length; i++) {
+            for (int j = 0; j < rows[i].length(); j++) {
+                cells[(i + margin) * w + j + margin] = (byte) (rows[i].charAt(j) == '1' ? 1 : 0);
+            }
+        }
+
+        for (int phase = 0; phase < period; phase++) {
+            long key = phaseKey(cells, w, h);
+            if (key != 0) {
+                insert(key, id);
+            }
+            for (int i = 1; i < h - 1; i++) {
+                for (int j = 1; j < w - 1; j++) {
+                    int n = 0;
+                    for (int di = -1; di <= 1; di++) {
+                        for (int dj = -1; dj <= 1; dj++) {
+                            if (di != 0 || dj != 0) n += cells[(i + di) * w + j + dj];
+                        }
+                    }
+                    next[i * w + j] = (byte) conway.next(cells[i * w + j], n);
+                }
+            }
+            byte[] swap = cells;
+            cells = next;
+            next = swap;
+        }
+    }
+
+    /**
+     * Forma canónica de una fase generada para la tabla, tenga una o varias piezas.
+     *
+     * @return La forma canónica, o 0 si la fase es demasiado grande
+     */
+    private static long phaseKey(byte[] cells, int w, int h) {
+        int[] live = new int[w * h];
+        int count = 0, top = h, left = w, bottom = -1, right = -1;
+        for (int index = 0; index < w * h; index++) {
+            if (cells[index] == 0) continue;
+            live[count++] = index;
+            int i = index / w, j = index % w;
+            top = Math.min(top, i);
+            bottom = Math.max(bottom, i);
+            left = Math.min(left, j);
+            right = Math.max(right, j);
+        }
+        return canonicalKey(live, 0, count, w, top, left, bottom - top + 1, right - left + 1);
+    }
+
+    /**
+     * Devuelve cuántas veces se encontró un objeto conocido.
+     *
+     * @param name Nombre del objeto (por ejemplo "bloque" o "planeador")
+     * @return Número de apariciones, o 0 si el nombre no es conocido
+     */
+    public long getCount(String name) {
+        for (int id = 0; id < KNOWN_OBJECTS.length; id++) {
+            if (KNOWN_OBJECTS[id][0].equals(name)) {
+                return knownCounts[id];
+            }
+        }
+        return 0;
+    }
+
+    public long getTotalObjects() { return totalObjects; }
+
+    /**
+     * Imprime el censo: los objetos conocidos de más a menos frecuentes y después los
+     * desconocidos agrupados por número de células.
+     */
+    public void printCensus() {
+        System.out.println(CYAN + "\n▶ Censo de objetos (" + totalObjects + " en total):" + RESET);
+
+        Integer[] ids = new Integer[KNOWN_OBJECTS.length];
+        for (int id = 0; id < ids.length; id++) ids[id] = id;
+        Arrays.sort(ids, (a, b) -> Long.compare(knownCounts[b], knownCounts[a]));
+        for (int id : ids) {
+            if (knownCounts[id] > 0) {
+                System.out.println("  • " + GREEN + KNOWN_OBJECTS[id][0] + " = " + knownCounts[id] + RESET);
+            }
+        }
+        for (Map.Entry<Integer, Long> entry : unknownBySize.entrySet()) {
+            System.out.println("  • " + YELLOW + "desconocido de " + entry.getKey() + " células = "
+                    + entry.getValue() + RESET);
+        }
+    }
+}
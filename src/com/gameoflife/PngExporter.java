@@ -0,0 +1,223 @@
+package com.gameoflife;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Exportador a PNG indexado, ya sea como APNG (un único archivo animado) o como secuencia
+ * numerada de imágenes. En APNG cada generación es un fotograma parcial (fcTL + fdAT) con
+ * solo el rectángulo modificado; en la secuencia cada archivo contiene la imagen completa.
+ * El compresor, el CRC y los buffers se reutilizan entre fotogramas.
+ */
+class PngExporter extends AnimationExporter {
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] EMPTY = new byte[0];
+
+    private final Path path;
+    private final boolean animated;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final CRC32 crc = new CRC32();
+    private final byte[] fctl = new byte[26];
+
+    // Filas filtradas (un byte de filtro por fila) y datos comprimidos, reutilizables
+    private final byte[] raw;
+    private byte[] compressed;
+
+    // Estado del archivo APNG
+    private ChannelOutput out;
+    private long actlPosition;
+    private int sequence;
+
+    /**
+     * Crea el exportador. En modo animado abre el archivo y escribe las cabeceras de inmediato.
+     *
+     * @param path Ruta del archivo APNG o base de los nombres de la secuencia
+     * @param width Ancho del tablero en células
+     * @param height Alto del tablero en células
+     * @param delayMs Duración de cada fotograma en milisegundos
+     * @param colors Número de estados de la regla (entradas de la paleta)
+     * @param animated true para APNG, false para una secuencia de PNG
+     * @throws IOException Si no se puede crear el archivo
+     */
+    PngExporter(Path path, int width, int height, int delayMs, int colors, boolean animated) throws IOException {
+        super(width, height, delayMs, colors);
+        this.path = path;
+        this.animated = animated;
+        this.raw = new byte[(imageWidth + 1) * imageHeight];
+        this.compressed = new byte[raw.length / 4 + 64];
+
+        if (animated) {
+            out = new ChannelOutput(path);
+            writeHeader(out);
+            // El número de fotogramas se completa al cerrar el archivo
+            actlPosition = out.position();
+            byte[] actl = new byte[8];
+            writeChunk(out, "acTL", actl, 0, actl.length);
+            writePalette(out);
+        }
+    }
+
+    @Override
+    protected boolean writesFullFrames() {
+        return !animated;
+    }
+
+    @Override
+    protected void encodeFrame(int x, int y, int w, int h, int length) throws IOException {
+        int size = compress(w, h);
+
+        if (!animated) {
+            String name = path.getFileName().toString();
+            String base = name.substring(0, name.length() - ".png".length());
+            Path file = path.resolveSibling(String.format("%s-%05d.png", base, getFrameCount()));
+            try (ChannelOutput image = new ChannelOutput(file)) {
+                writeHeader(image);
+                writePalette(image);
+                writeChunk(image, "IDAT", compressed, 4, size - 4);
+                writeChunk(image, "IEND", EMPTY, 0, 0);
+            }
+            return;
+        }
+
+        // fcTL: posición, tamaño y duración del fotograma; se dibuja sobre el anterior
+        putInt(fctl, 0, sequence++);
+        putInt(fctl, 4, w);
+        putInt(fctl, 8, h);
+        putInt(fctl, 12, x);
+        putInt(fctl, 16, y);
+        fctl[20] = (byte) (delayMs >>> 8);
+        fctl[21] = (byte) delayMs;
+        fctl[22] = (byte) (1000 >>> 8);
+        fctl[23] = (byte) (1000 & 0xFF);
+        fctl[24] = 0; // APNG_DISPOSE_OP_NONE
+        fctl[25] = 0; // APNG_BLEND_OP_SOURCE
+        writeChunk(out, "fcTL", fctl, 0, fctl.length);
+
+        if (getFrameCount() == 0) {
+            // El primer fotograma es también la imagen por defecto
+            writeChunk(out, "IDAT", compressed, 4, size - 4);
+        } else {
+            // fdAT lleva delante el número de secuencia; se reserva en los 4 bytes previos
+            putInt(compressed, 0, sequence++);
+            writeChunk(out, "fdAT", compressed, 0, size);
+        }
+    }
+
+    /**
+     * Filtra (filtro 0) y comprime los primeros w * h píxeles del buffer.
+     * Los datos comprimidos quedan en {@link #compressed} a partir de la posición 4.
+     *
+     * @param w Ancho del rectángulo en píxeles
+     * @param h Alto del rectángulo en píxeles
+     * @return Tamaño total en bytes (incluidos los 4 bytes reservados)
+     */
+    private int compress(int w, int h) {
+        int r = 0;
+        for (int i = 0; i < h; i++) {
+            raw[r++] = 0;
+            System.arraycopy(pixels, i * w, raw, r, w);
+            r += w;
+        }
+
+        deflater.reset();
+        deflater.setInput(raw, 0, r);
+        deflater.finish();
+        int size = 4;
+        while (!deflater.finished()) {
+            if (size == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            size += deflater.deflate(compressed, size, compressed.length - size);
+        }
+        return size;
+    }
+
+    /**
+     * Escribe la firma PNG y la cabecera IHDR (8 bits por píxel indexado).
+     */
+    private void writeHeader(ChannelOutput target) throws IOException {
+        target.put(SIGNATURE, 0, SIGNATURE.length);
+        byte[] ihdr = new byte[13];
+        putInt(ihdr, 0, imageWidth);
+        putInt(ihdr, 4, imageHeight);
+        ihdr[8] = 8; // Profundidad de bits
+        ihdr[9] = 3; // Color indexado
+        writeChunk(target, "IHDR", ihdr, 0, ihdr.length);
+    }
+
+    private void writePalette(ChannelOutput target) throws IOException {
+        byte[] plte = new byte[colors * 3];
+        for (int i = 0; i < colors; i++) {
+            plte[i * 3] = (byte) (PALETTE[i] >>> 16);
+            plte[i * 3 + 1] = (byte) (PALETTE[i] >>> 8);
+            plte[i * 3 + 2] = (byte) PALETTE[i];
+        }
+        writeChunk(target, "PLTE", plte, 0, plte.length);
+    }
+
+    /**
+     * Escribe un chunk PNG: longitud, tipo, datos y CRC del tipo más los datos.
+     */
+    private void writeChunk(ChannelOutput target, String type, byte[] data, int offset, int length)
+            throws IOException {
+        byte[] typeBytes = type.getBytes();
+        crc.reset();
+        crc.update(typeBytes);
+        crc.update(data, offset, length);
+
+        target.putIntBE(length);
+        target.put(typeBytes, 0, 4);
+        target.put(data, offset, length);
+        target.putIntBE((int) crc.getValue());
+    }
+
+    private static void putInt(byte[] data, int offset, int value) {
+        data[offset] = (byte) (value >>> 24);
+        data[offset + 1] = (byte) (value >>> 16);
+        data[offset + 2] = (byte) (value >>> 8);
+        data[offset + 3] = (byte) value;
+    }
+
+    @Override
+    protected void closeOutput() throws IOException {
+        deflater.end();
+        if (!animated) {
+            return;
+        }
+        try {
+            writeChunk(out, "IEND", EMPTY, 0, 0);
+
+            // Completar acTL con el número real de fotogramas (repetición infinita)
+            byte[] actl = new byte[8];
+            putInt(actl, 0, getFrameCount());
+            crc.reset();
+            crc.update("acTL".getBytes());
+            crc.update(actl);
+            byte[] chunk = new byte[20];
+            putInt(chunk, 0, actl.length);
+            System.arraycopy("acTL".getBytes(), 0, chunk, 4, 4);
+            System.arraycopy(actl, 0, chunk, 8, 8);
+            putInt(chunk, 16, (int) crc.getValue());
+            out.patch(actlPosition, chunk);
+        } finally {
+            out.close();
+        }
+    }
+
+    @Override
+    protected void discardOutput() throws IOException {
+        deflater.end();
+        if (!animated) {
+            return; // La secuencia crea un archivo por fotograma: no hay nada que borrar
+        }
+        try {
+            out.close();
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.gameoflife;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Búsqueda de sopas: siembra, simula y analiza muchas sopas aleatorias dentro del mismo proceso
+ * y acumula sus objetos en un solo {@link PatternCensus}, sin dibujar ninguna generación.
+ *
+ * <p>El tablero se guarda con un bit por célula en palabras de 64 bits (bit j de la palabra k =
+ * columna 64k+j) y cada generación se calcula con operaciones de bits sobre 64 células a la vez,
+ * sumando los ocho vecinos con un circuito sumador. Como en {@link Grid}, lo que queda fuera del
+ * tablero está muerto. Cada sopa se simula hasta que se repite (periodo divisor de
+ * {@link #STABLE_PERIOD}) o hasta el límite de generaciones, y entonces se hace su censo.
+ */
+public class SoupSearch {
+    // Se considera estable un tablero que vuelve a ser igual al de STABLE_PERIOD generaciones antes
+    // (periodos 1, 2, 3, 4, 6 y 12)
+    private static final int STABLE_PERIOD = 12;
+
+    // Códigos de color ANSI
+    private static final String RESET = Colors.RESET;
+    private static final String GREEN = Colors.GREEN;
+    private static final String YELLOW = Colors.YELLOW;
+
+    private final int width;
+    private final int height;
+    private final int generations; // Límite de generaciones por sopa
+    private final int soups;       // Número de sopas a analizar
+    private final int wordsPerRow;
+    private final long lastWordMask; // Columnas válidas de la última palabra de cada fila
+
+    // Generación actual, siguiente y la guardada para detectar que el tablero se repite
+    private long[] cells;
+    private long[] nextCells;
+    private final long[] snapshot;
+    private final long[] pattern; // Población fija, o null si cada sopa es aleatoria
+
+    private final Random random = new Random();
+    private final PatternCensus census = new PatternCensus();
+    private long stableSoups;
+    private long simulatedGenerations;
+
+    /**
+     * Constructor de la búsqueda.
+     *
+     * @param width Ancho de cada sopa.
+     * @param height Alto de cada sopa.
+     * @param population "rnd" para sembrar cada sopa al azar, o un patrón que se repite en todas.
+     * @param generations Máximo de generaciones que se simula cada sopa.
+     * @param soups Número de sopas a analizar.
+     */
+    public SoupSearch(int width, int height, String population, int generations, int soups) {
+        this.width = width;
+        this.height = height;
+        this.generations = generations;
+        this.soups = soups;
+        this.wordsPerRow = (width + 63) / 64;
+        this.lastWordMask = width % 64 == 0 ? -1L : (1L << (width % 64)) - 1;
+        this.cells = new long[height * wordsPerRow];
+        this.nextCells = new long[height * wordsPerRow];
+        this.snapshot = new long[height * wordsPerRow];
+        this.pattern = "rnd".equals(population) ? null : parsePattern(population);
+    }
+
+    /**
+     * Convierte un patrón en formato "0110#1001" en palabras del tablero. Como en {@link Grid},
+     * solo el estado 1 cuenta como célula viva.
+     *
+     * @param population Patrón con las filas separadas por '#'.
+     * @return Tablero con el patrón.
+     */
+    private long[] parsePattern(String population) {
+        long[] board = new long[height * wordsPerRow];
+        String[] rows = population.split("#");
+        for (int i = 0; i < rows.length && i < height; i++) {
+            String row = rows[i].trim();
+            for (int j = 0; j < row.length() && j < width; j++) {
+                if (Character.digit(row.charAt(j), 16) == 1) {
+                    board[i * wordsPerRow + (j >>> 6)] |= 1L << j;
+                }
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Ejecuta la búsqueda completa y muestra el censo acumulado con un resumen del rendimiento.
+     */
+    public void run() {
+        long start = System.nanoTime();
+        for (int soup = 0; soup < soups; soup++) {
+            seed();
+            if (evolve()) {
+                stableSoups++;
+            }
+            census.analyze(width, height, this::getState);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        census.printCensus();
+        printSummary(elapsed);
+    }
+
+    /**
+     * Siembra la sopa actual: cada célula viva con probabilidad 1/2, o el patrón fijo.
+     */
+    private void seed() {
+        if (pattern != null) {
+            System.arraycopy(pattern, 0, cells, 0, cells.length);
+            return;
+        }
+        for (int index = 0; index < cells.length; index++) {
+            long word = random.nextLong();
+            cells[index] = (index % wordsPerRow == wordsPerRow - 1) ? word & lastWordMask : word;
+        }
+    }
+
+    /**
+     * Simula la sopa actual hasta que se repite o hasta el límite de generaciones.
+     *
+     * @return true si la sopa se estabilizó antes del límite
+     */
+    private boolean evolve() {
+        for (int generation = 0; generation < generations; generation++) {
+            if (generation % STABLE_PERIOD == 0) {
+                if (generation > 0 && Arrays.equals(cells, snapshot)) {
+                    return true;
+                }
+                System.arraycopy(cells, 0, snapshot, 0, cells.length);
+            }
+            nextGeneration();
+            simulatedGenerations++;
+        }
+        return false;
+    }
+
+    /**
+     * Calcula la siguiente generación con la regla de Conway, 64 células por operación.
+     * Los ocho vecinos se suman por columnas de bits: la fila de arriba y la de abajo con un
+     * sumador completo cada una, los dos vecinos laterales con un semisumador, y los acarreos
+     * (de peso 2) se combinan al final. Una célula vive si sus vecinos suman 3, o 2 si ya vivía.
+     */
+    private void nextGeneration() {
+        for (int i = 0; i < height; i++) {
+            int row = i * wordsPerRow;
+            for (int k = 0; k < wordsPerRow; k++) {
+                int index = row + k;
+                long alive = cells[index];
+
+                // Vecinos laterales de la fila actual
+                long left = neighborFromLeft(index, k);
+                long right = neighborFromRight(index, k);
+                long sideOnes = left ^ right;
+                long sideTwos = left & right;
+
+                // Fila de arriba (muerta fuera del tablero)
+                long upOnes = 0, upTwos = 0;
+                if (i > 0) {
+                    int up = index - wordsPerRow;
+                    long a = neighborFromLeft(up, k), b = cells[up], c = neighborFromRight(up, k);
+                    upOnes = a ^ b ^ c;
+                    upTwos = (a & b) | (c & (a ^ b));
+                }
+
+                // Fila de abajo (muerta fuera del tablero)
+                long downOnes = 0, downTwos = 0;
+                if (i < height - 1) {
+                    int down = index + wordsPerRow;
+                    long a = neighborFromLeft(down, k), b = cells[down], c = neighborFromRight(down, k);
+                    downOnes = a ^ b ^ c;
+                    downTwos = (a & b) | (c & (a ^ b));
+                }
+
+                // Unidades de la suma y acarreo de peso 2
+                long ones = upOnes ^ sideOnes ^ downOnes;
+                long carry = (upOnes & sideOnes) | (downOnes & (upOnes ^ sideOnes));
+
+                // Hay exactamente un término de peso 2 entre upTwos, sideTwos, downTwos y carry:
+                // paridad impar y no más de uno a la vez (la suma vale 2 o 3)
+                long parity = upTwos ^ sideTwos ^ downTwos ^ carry;
+                long atLeastTwo = (upTwos & sideTwos) | (downTwos & carry) | ((upTwos ^ sideTwos) & (downTwos ^ carry));
+                long next = parity & ~atLeastTwo & (ones | alive);
+                // Las columnas sobrantes de la última palabra no pertenecen al tablero
+                nextCells[index] = k == wordsPerRow - 1 ? next & lastWordMask : next;
+            }
+        }
+        // Intercambia la generación actual con la nueva
+        long[] swap = cells;
+        cells = nextCells;
+        nextCells = swap;
+    }
+
+    /**
+     * Palabra con el vecino izquierdo de cada célula (columna - 1) en la posición de la célula.
+     */
+    private long neighborFromLeft(int index, int k) {
+        long carry = k > 0 ? cells[index - 1] >>> 63 : 0;
+        return (cells[index] << 1) | carry;
+    }
+
+    /**
+     * Palabra con el vecino derecho de cada célula (columna + 1) en la posición de la célula.
+     * Las columnas sobrantes de la última palabra siempre están a 0, así que no traen vecinos.
+     */
+    private long neighborFromRight(int index, int k) {
+        long carry = k < wordsPerRow - 1 ? cells[index + 1] << 63 : 0;
+        return (cells[index] >>> 1) | carry;
+    }
+
+    /**
+     * Estado (0 o 1) de la célula en (fila, columna) de la sopa actual.
+     */
+    private int getState(int row, int col) {
+        return (int) (cells[row * wordsPerRow + (col >>> 6)] >>> col) & 1;
+    }
+
+    /**
+     * Muestra cuántas sopas se analizaron, cuántas se estabilizaron y la velocidad del censo.
+     *
+     * @param elapsed Tiempo total de la búsqueda en nanosegundos
+     */
+    private void printSummary(long elapsed) {
+        double seconds = Math.max(elapsed, 1) / 1e9;
+        long objects = census.getTotalObjects();
+        System.out.println(GREEN + "\nSopas analizadas: " + soups + " de " + width + "x" + height
+                + (pattern == null ? " aleatorias" : " con el patrón dado") + ", " + simulatedGenerations + " generaciones en total." + RESET);
+        if (stableSoups < soups) {
+            System.out.println(YELLOW + (soups - stableSoups) + " sopas no se estabilizaron en "
+                    + generations + " generaciones." + RESET);
+        }
+        System.out.printf(GREEN + "Objetos: %d en %.2f s (%.0f objetos por minuto).%n" + RESET,
+                objects, seconds, objects / seconds * 60);
+    }
+}